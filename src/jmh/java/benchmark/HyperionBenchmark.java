@@ -0,0 +1,63 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import main.Hyperion;
+
+/**
+ * Measures the end-to-end throughput of {@code Hyperion.getResponse}, from parsing the input
+ * to saving the changes, on a list of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HyperionBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    @Param({"text", "journal"})
+    private String mode;
+
+    private Hyperion hyperion;
+    private TaskDataGenerator generator;
+
+    /**
+     * Starts Hyperion on a data file of the benchmarked size.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        Path file = Files.createTempDirectory("hyperion-e2e").resolve("tasks.txt");
+        this.generator = new TaskDataGenerator(42);
+        this.generator.writeTextFile(file, this.taskCount);
+        this.hyperion = new Hyperion(file.toString(), StorageBenchmark.config(this.mode));
+    }
+
+    @Benchmark
+    public String addTodo() {
+        return this.hyperion.getResponse("todo " + this.generator.description());
+    }
+
+    @Benchmark
+    public String markAndUnmark() {
+        this.hyperion.getResponse("mark 1");
+        return this.hyperion.getResponse("unmark 1");
+    }
+
+    @Benchmark
+    public String find() {
+        return this.hyperion.getResponse("find project");
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import exception.CommandFoundButInvalidException;
+import main.Storage;
+import main.StorageConfig;
+import main.StorageFormat;
+import main.TaskList;
+import task.Task;
+
+/**
+ * Measures loading and saving a data file of the given size in each storage mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"text", "binary", "lazy", "journal"})
+    private String mode;
+
+    private Storage storage;
+    private TaskList taskList;
+    private boolean isMarked;
+
+    /**
+     * Writes a data file of the benchmarked size in the benchmarked format.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, CommandFoundButInvalidException {
+        Path directory = Files.createTempDirectory("hyperion-storage");
+        Path file = directory.resolve("tasks.txt");
+        new TaskDataGenerator(42).writeTextFile(file, this.taskCount);
+        this.storage = new Storage(file.toString(), config(this.mode));
+        this.taskList = new TaskList(this.storage.load());
+        this.isMarked = this.taskList.getPage(0, 1).get(0).isDone();
+        this.storage.put(this.taskList);
+    }
+
+    @Benchmark
+    public List<Task> load() throws CommandFoundButInvalidException {
+        return this.storage.load();
+    }
+
+    @Benchmark
+    public TaskList markAndPut() throws CommandFoundButInvalidException {
+        // Marking a task that is already done changes nothing, so every call flips it to have a change to save
+        if (this.isMarked) {
+            this.taskList.unmark("1");
+        } else {
+            this.taskList.mark("1");
+        }
+        this.isMarked = !this.isMarked;
+        this.storage.put(this.taskList);
+        return this.taskList;
+    }
+
+    static StorageConfig config(String mode) {
+        switch (mode) {
+        case "binary":
+            return new StorageConfig().setFormat(StorageFormat.fromString("binary"));
+        case "lazy":
+            return new StorageConfig().setLazy(true);
+        case "journal":
+            return new StorageConfig().setJournaled(true);
+        default:
+            return new StorageConfig();
+        }
+    }
+}
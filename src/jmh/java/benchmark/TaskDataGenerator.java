@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import exception.CommandFoundButInvalidException;
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+/**
+ * Generates reproducible synthetic tasks for the benchmarks, in equal parts to-dos, deadlines
+ * and events, with about a third of them marked as done.
+ */
+public class TaskDataGenerator {
+    private static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "gym", "lecture", "tutorial",
+        "assignment", "groceries", "call", "mum", "submit", "report", "review", "code"
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Random random;
+
+    /**
+     * Constructs a {@code TaskDataGenerator} whose output only depends on the seed.
+     *
+     * @param seed the seed of the random number generator
+     */
+    public TaskDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns the given number of tasks.
+     *
+     * @param count the number of tasks to be generated
+     * @return the generated tasks
+     */
+    public List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Task task = this.nextTask(i);
+                if (this.random.nextInt(3) == 0) {
+                    task.markAsDone();
+                }
+                tasks.add(task);
+            }
+        } catch (CommandFoundButInvalidException e) {
+            throw new IllegalStateException(e);
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes the given number of tasks to a data file in the text format.
+     *
+     * @param path the file to be written
+     * @param count the number of tasks to be generated
+     * @throws IOException if the file could not be written
+     */
+    public void writeTextFile(Path path, int count) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (BufferedWriter bw = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Task task : this.tasks(count)) {
+                bw.append(task.getInitDesc());
+                bw.append("\n");
+            }
+        }
+    }
+
+    /**
+     * Returns a random description of a few words.
+     *
+     * @return the description
+     */
+    public String description() {
+        StringBuilder description = new StringBuilder(WORDS[this.random.nextInt(WORDS.length)]);
+        int extraWords = this.random.nextInt(3);
+        for (int i = 0; i < extraWords; i++) {
+            description.append(' ').append(WORDS[this.random.nextInt(WORDS.length)]);
+        }
+        return description.append(' ').append(this.random.nextInt(1000)).toString();
+    }
+
+    /**
+     * Returns a random date and time within two years from the start of 2024.
+     *
+     * @return the date and time
+     */
+    public LocalDateTime dateTime() {
+        return START.plusMinutes(this.random.nextInt(2 * 365 * 24 * 60));
+    }
+
+    private Task nextTask(int i) throws CommandFoundButInvalidException {
+        switch (i % 3) {
+        case 0:
+            return new ToDos(this.description());
+        case 1:
+            return new Deadlines(this.description() + " /by " + this.dateTime());
+        default:
+            LocalDateTime start = this.dateTime();
+            return new Events(this.description() + " /from " + start + " /to " + start.plusHours(2));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import exception.CommandFoundButInvalidException;
+import main.TaskList;
+import task.Task;
+
+/**
+ * Measures the queries of a {@code TaskList} of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"project meeting", "ok"})
+    private String query;
+
+    private TaskList taskList;
+
+    /**
+     * Builds a task list of the benchmarked size and warms up its indexes.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws CommandFoundButInvalidException {
+        this.taskList = new TaskList(new ArrayList<>(new TaskDataGenerator(42).tasks(this.taskCount)));
+        this.taskList.find(this.query).count();
+        this.taskList.sort("");
+    }
+
+    @Benchmark
+    public List<Task> find() {
+        return this.taskList.find(this.query).toList();
+    }
+
+    @Benchmark
+    public List<Task> sort() throws CommandFoundButInvalidException {
+        return this.taskList.sort("");
+    }
+
+    @Benchmark
+    public String list() throws CommandFoundButInvalidException {
+        return this.taskList.list("");
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import exception.CommandFoundButInvalidException;
+import task.Deadlines;
+import task.Events;
+
+/**
+ * Compares parsing the arguments of deadlines and events with {@code TaskArguments} against the
+ * regular expression splits and {@code LocalDateTime.parse} calls it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskParsingBenchmark {
+    private String deadline = "return book /by 2024-12-12T10:00";
+    private String event = "project meeting /from 2024-12-12T10:00 /to 2024-12-12T12:00";
+
+    @Benchmark
+    public Deadlines deadline() throws CommandFoundButInvalidException {
+        return new Deadlines(this.deadline);
+    }
+
+    @Benchmark
+    public Events event() throws CommandFoundButInvalidException {
+        return new Events(this.event);
+    }
+
+    /**
+     * Parses a deadline the way {@code Deadlines} used to, splitting the arguments twice.
+     */
+    @Benchmark
+    public LocalDateTime deadlineWithSplit() {
+        String description = this.deadline.split("/by")[0].trim();
+        String date = this.deadline.split("/by")[1].trim().replace("/", "-");
+        return description.isEmpty() ? null : LocalDateTime.parse(date);
+    }
+
+    /**
+     * Parses an event the way {@code Events} used to.
+     */
+    @Benchmark
+    public LocalDateTime eventWithSplit() {
+        String[] firstSplit = this.event.split("/from", 2);
+        String[] secondSplit = firstSplit[1].split("/to");
+        LocalDateTime start = LocalDateTime.parse(secondSplit[0].trim());
+        LocalDateTime end = LocalDateTime.parse(secondSplit[1].trim());
+        return firstSplit[0].trim().isEmpty() || start.isAfter(end) ? null : end;
+    }
+}
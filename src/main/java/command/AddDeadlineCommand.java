@@ -4,6 +4,7 @@ import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
+import task.Task;
 
 /**
  * A Command to add a new Deadline task to the task list
@@ -32,8 +33,8 @@ public class AddDeadlineCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        taskList.addDeadline(this.description);
+        Task added = taskList.addDeadline(this.description);
         storage.put(taskList);
-        return ui.addedMessage(taskList.getLastAdded(), taskList.getSize());
+        return ui.addedMessage(added, taskList.getSize());
     }
 }
@@ -4,6 +4,7 @@ import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
+import task.Task;
 
 /**
  * A Command to add a new Event task to the task list
@@ -32,9 +33,9 @@ public class AddEventCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        taskList.addEvent(this.description);
+        Task added = taskList.addEvent(this.description);
         storage.put(taskList);
-        return ui.addedMessage(taskList.getLastAdded(), taskList.getSize());
+        return ui.addedMessage(added, taskList.getSize());
     }
 }
 
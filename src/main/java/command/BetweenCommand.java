@@ -0,0 +1,77 @@
+package command;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import main.PageRequest;
+import main.ResultPager;
+import main.Storage;
+import main.TaskList;
+import main.Ui;
+import task.TaskArguments;
+
+/**
+ * A Command to list the events and deadlines that fall within a period of time
+ */
+public class BetweenCommand implements Command {
+    private static final String SYNTAX = "between, please use between /from yyyy-mm-ddThh:mm /to yyyy-mm-ddThh:mm";
+
+    private String description;
+    private ResultPager pager;
+
+    /**
+     * Constructs a new {@code BetweenCommand} with the specified description
+     *
+     * @param description the remaining description of the Between command, after the command is removed
+     * @param pager the {@code ResultPager} of the session, which shows the results one page at a time
+     */
+    public BetweenCommand(String description, ResultPager pager) {
+        this.description = description;
+        this.pager = pager;
+    }
+
+    /**
+     * Executes the Between command and returns its message as a whole
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that indicates the successful execution of the task
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     */
+    @Override
+    public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the Between command to list the events overlapping the period and the deadlines due within it
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to, one task at a time
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        PageRequest request = PageRequest.parse(this.description, "between");
+        String[] period = TaskArguments.splitPeriod(request.getArguments());
+        if (period == null) {
+            throw new InvalidSyntaxException(SYNTAX);
+        }
+        LocalDateTime from = TaskArguments.parseDateTime(period[0]);
+        LocalDateTime to = TaskArguments.parseDateTime(period[1]);
+        if (from == null || to == null) {
+            throw new InvalidSyntaxException(SYNTAX);
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidSyntaxException("between, start date cannot be after end date");
+        }
+        this.pager.showResults(ui.betweenMessage(), taskList.getTasksBetween(from, to), request, out);
+    }
+}
@@ -12,7 +12,7 @@ public class ByeCommand implements Command {
 
 
     /**
-     * Executes the Bye command and returns a farewell message
+     * Executes the Bye command, making sure every change has been saved, and returns a farewell message
      *
      * @param taskList the {@code TaskList} on which command operates on
      * @param ui the {@code Ui} responsible for the displaying of messages
@@ -22,6 +22,7 @@ public class ByeCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        storage.flush(taskList);
         return ui.bye();
     }
 }
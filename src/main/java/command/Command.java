@@ -1,12 +1,18 @@
 package command;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
 
 /**
- * Represents a command that can be executed to perform a specific action
+ * Represents a command that can be executed to perform a specific action.
+ * A command either returns its whole response as a {@code String} or writes it to a sink as it is produced.
+ * Commands with long responses write them to the sink, so that they are never held in memory as a whole
+ * when the sink is a console or a file.
  */
 public interface Command {
     /**
@@ -19,4 +25,42 @@ public interface Command {
      * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
      */
     String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException;
+
+    /**
+     * Executes the command and writes the message to the sink as it is produced.
+     * Nothing is written if the command is invalid.
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     * @throws IOException if the message could not be written
+     */
+    default void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        out.append(this.execute(taskList, ui, storage));
+    }
+
+    /**
+     * Executes a command that writes its message to a sink and returns the message as a {@code String}.
+     *
+     * @param command the command to be executed
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that indicates the successful execution of the task
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     */
+    static String collect(Command command, TaskList taskList, Ui ui, Storage storage)
+            throws CommandFoundButInvalidException {
+        StringBuilder message = new StringBuilder();
+        try {
+            command.execute(taskList, ui, storage, message);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return message.toString();
+    }
 }
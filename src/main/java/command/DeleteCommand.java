@@ -1,12 +1,16 @@
 package command;
 
+import java.util.List;
+
 import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
+import main.TaskSelection;
 import main.Ui;
+import task.Task;
 
 /**
- * A Command to delete a task from the task list
+ * A Command to delete a task, or several selected tasks at once, from the task list
  */
 public class DeleteCommand implements Command {
     private String description;
@@ -32,8 +36,13 @@ public class DeleteCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        taskList.delete(this.description);
+        if (TaskSelection.isBulk(this.description)) {
+            List<Task> deleted = taskList.deleteAll(this.description);
+            storage.put(taskList);
+            return ui.deleteAllMessage(deleted, taskList.getSize());
+        }
+        Task deleted = taskList.delete(this.description);
         storage.put(taskList);
-        return ui.deleteMessage(taskList.getLastDeleted(), taskList.getSize());
+        return ui.deleteMessage(deleted, taskList.getSize());
     }
 }
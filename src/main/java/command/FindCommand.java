@@ -1,30 +1,34 @@
 package command;
 
-import java.util.stream.Stream;
+import java.io.IOException;
 
 import exception.CommandFoundButInvalidException;
+import main.PageRequest;
+import main.ResultPager;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
-import task.Task;
 
 /**
  * A Command to find tasks in the task list that contains the user's input
  */
 public class FindCommand implements Command {
     private String description;
+    private ResultPager pager;
 
     /**
      * Constructs a new {@code FindCommand} with the specified description
      *
      * @param description the remaining description of the Find command, after the command is removed
+     * @param pager the {@code ResultPager} of the session, which shows the results one page at a time
      */
-    public FindCommand(String description) {
+    public FindCommand(String description, ResultPager pager) {
         this.description = description;
+        this.pager = pager;
     }
 
     /**
-     * Executes the Find command to find all tasks that contains the user specified input
+     * Executes the Find command and returns its message as a whole
      *
      * @param taskList the {@code TaskList} on which command operates on
      * @param ui the {@code Ui} responsible for the displaying of messages
@@ -34,8 +38,23 @@ public class FindCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        Stream<Task> result = taskList.find(this.description);
-        return ui.findMessage() + "\n"
-                + new TaskList(result.toList()).list("");
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the Find command to find all tasks that contains the user specified input
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to, one task at a time
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        PageRequest request = PageRequest.parse(this.description, "find");
+        this.pager.showMatches(ui.findMessage(), taskList.find(request.getArguments()), request, out);
     }
 }
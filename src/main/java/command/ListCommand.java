@@ -1,6 +1,10 @@
 package command;
 
+import java.io.IOException;
+
 import exception.CommandFoundButInvalidException;
+import main.PageRequest;
+import main.ResultPager;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
@@ -10,18 +14,21 @@ import main.Ui;
  */
 public class ListCommand implements Command {
     private String description;
+    private ResultPager pager;
 
     /**
      * Constructs a new {@code ListCommand} with the specified description
      *
      * @param description the remaining description of the List command, after the command is removed
+     * @param pager the {@code ResultPager} of the session, which shows the results one page at a time
      */
-    public ListCommand(String description) {
+    public ListCommand(String description, ResultPager pager) {
         this.description = description;
+        this.pager = pager;
     }
 
     /**
-     * Executes the List command
+     * Executes the List command and returns its message as a whole
      *
      * @param taskList the {@code TaskList} on which command operates on
      * @param ui the {@code Ui} responsible for the displaying of messages
@@ -31,6 +38,23 @@ public class ListCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        return taskList.list(this.description);
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the List command, showing the page of the task list given in the description, with the page
+     * size given by its {@code /size} option
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to, one task at a time
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        this.pager.showList(taskList, PageRequest.parseList(this.description), out);
     }
 }
@@ -1,12 +1,16 @@
 package command;
 
+import java.util.List;
+
 import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
+import main.TaskSelection;
 import main.Ui;
+import task.Task;
 
 /**
- * A Command to mark a specific task in the list
+ * A Command to mark a specific task, or several selected tasks at once, in the list
  */
 public class MarkCommand implements Command {
     private String description;
@@ -31,8 +35,13 @@ public class MarkCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        taskList.mark(this.description);
+        if (TaskSelection.isBulk(this.description)) {
+            List<Task> marked = taskList.markAll(this.description);
+            storage.put(taskList);
+            return ui.markedAllMessage(marked);
+        }
+        Task marked = taskList.mark(this.description);
         storage.put(taskList);
-        return ui.markedMessage(taskList.getLastMarked());
+        return ui.markedMessage(marked);
     }
 }
@@ -0,0 +1,62 @@
+package command;
+
+import java.io.IOException;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import main.ResultPager;
+import main.Storage;
+import main.TaskList;
+import main.Ui;
+
+/**
+ * A Command that shows the next page of the tasks listed last
+ */
+public class MoreCommand implements Command {
+    private String description;
+    private ResultPager pager;
+
+    /**
+     * Constructs a new {@code MoreCommand} with the specified description
+     *
+     * @param description the remaining description of the More command, after the command is removed
+     * @param pager the {@code ResultPager} of the session, which remembers the tasks listed last
+     */
+    public MoreCommand(String description, ResultPager pager) {
+        this.description = description;
+        this.pager = pager;
+    }
+
+    /**
+     * Executes the More command and returns its message as a whole
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that indicates the successful execution of the task
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     */
+    @Override
+    public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the More command, continuing the last {@code list}, {@code find}, {@code sort} or {@code between}
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to, one task at a time
+     * @throws CommandFoundButInvalidException if there is nothing more to show or the description is not empty
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        if (!this.description.isEmpty()) {
+            throw new InvalidSyntaxException("more");
+        }
+        this.pager.more(out);
+    }
+}
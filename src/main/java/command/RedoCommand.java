@@ -0,0 +1,45 @@
+package command;
+
+import java.util.List;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import main.Storage;
+import main.TaskList;
+import main.Ui;
+import task.Task;
+
+/**
+ * A Command that makes the most recently undone change to the task list again
+ */
+public class RedoCommand implements Command {
+    private String description;
+
+    /**
+     * Constructs a new {@code RedoCommand} with the specified description
+     *
+     * @param description the remaining description of the Redo command, after the command is removed
+     */
+    public RedoCommand(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Executes the Redo command and saves the tasks that were changed
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that tells which tasks were redone
+     * @throws CommandFoundButInvalidException if there is nothing to redo or the description is not empty
+     */
+    @Override
+    public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        if (!this.description.isEmpty()) {
+            throw new InvalidSyntaxException("redo");
+        }
+        List<Task> redone = taskList.redo();
+        storage.put(taskList);
+        return ui.redoneMessage(redone, taskList.getSize());
+    }
+}
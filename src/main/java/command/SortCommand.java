@@ -1,6 +1,10 @@
 package command;
 
+import java.io.IOException;
+
 import exception.CommandFoundButInvalidException;
+import main.PageRequest;
+import main.ResultPager;
 import main.Storage;
 import main.TaskList;
 import main.Ui;
@@ -10,17 +14,20 @@ import main.Ui;
  */
 public class SortCommand implements Command {
     private String description;
+    private ResultPager pager;
 
     /**
      * Constructs a new {@code SortCommand} with the specified description
      * @param description
+     * @param pager the {@code ResultPager} of the session, which shows the sorted tasks one page at a time
      */
-    public SortCommand(String description) {
+    public SortCommand(String description, ResultPager pager) {
         this.description = description;
+        this.pager = pager;
     }
 
     /**
-     * Executes the Sort command as specified by the compare method in the TaskComparator class
+     * Executes the Sort command and returns its message as a whole
      *
      * @param taskList the {@code TaskList} on which command operates on
      * @param ui the {@code Ui} responsible for the displaying of messages
@@ -30,7 +37,23 @@ public class SortCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        return ui.sortMessage() + "\n"
-                + new TaskList(taskList.sort(this.description)).list("");
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the Sort command as specified by the compare method in the TaskComparator class
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to, one task at a time
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        PageRequest request = PageRequest.parse(this.description, "sort");
+        this.pager.showResults(ui.sortMessage(), taskList.sort(request.getArguments()), request, out);
     }
 }
@@ -0,0 +1,69 @@
+package command;
+
+import java.io.IOException;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import main.Metrics;
+import main.Storage;
+import main.TaskList;
+import main.Ui;
+
+/**
+ * A Command that shows how many commands of each kind were run and how long they took
+ */
+public class StatsCommand implements Command {
+    private String description;
+    private Metrics metrics;
+
+    /**
+     * Constructs a new {@code StatsCommand} with the specified description
+     *
+     * @param description the remaining description of the Stats command, after the command is removed
+     * @param metrics the {@code Metrics} the commands are timed in
+     */
+    public StatsCommand(String description, Metrics metrics) {
+        this.description = description;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Executes the Stats command and returns its message as a whole
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that indicates the successful execution of the task
+     * @throws CommandFoundButInvalidException if the task could not be executed due to invalid inputs
+     */
+    @Override
+    public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        return Command.collect(this, taskList, ui, storage);
+    }
+
+    /**
+     * Executes the Stats command, showing the count and latencies of every phase of every command run,
+     * followed by the number of times the saved data was forced to disk
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @param out the sink the message is written to
+     * @throws CommandFoundButInvalidException if statistics are not collected or the description is not empty
+     * @throws IOException if the message could not be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        if (!this.description.isEmpty()) {
+            throw new InvalidSyntaxException("stats");
+        }
+        if (!this.metrics.isEnabled()) {
+            throw new CommandFoundButInvalidException(
+                    "Statistics are not collected, start Hyperion with -Dhyperion.metrics=true to collect them");
+        }
+        out.append(ui.statsMessage()).append('\n');
+        this.metrics.report(out);
+        out.append('\n').append(ui.syncMessage(storage.getDurabilityPolicy()));
+    }
+}
@@ -0,0 +1,45 @@
+package command;
+
+import java.util.List;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import main.Storage;
+import main.TaskList;
+import main.Ui;
+import task.Task;
+
+/**
+ * A Command that undoes the most recent change to the task list that was not undone yet
+ */
+public class UndoCommand implements Command {
+    private String description;
+
+    /**
+     * Constructs a new {@code UndoCommand} with the specified description
+     *
+     * @param description the remaining description of the Undo command, after the command is removed
+     */
+    public UndoCommand(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Executes the Undo command and saves the tasks that were changed
+     *
+     * @param taskList the {@code TaskList} on which command operates on
+     * @param ui the {@code Ui} responsible for the displaying of messages
+     * @param storage the {@code Storage} instance used save the current existing list of tasks
+     * @return the message that tells which tasks were undone
+     * @throws CommandFoundButInvalidException if there is nothing to undo or the description is not empty
+     */
+    @Override
+    public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
+        if (!this.description.isEmpty()) {
+            throw new InvalidSyntaxException("undo");
+        }
+        List<Task> undone = taskList.undo();
+        storage.put(taskList);
+        return ui.undoneMessage(undone, taskList.getSize());
+    }
+}
@@ -1,12 +1,16 @@
 package command;
 
+import java.util.List;
+
 import exception.CommandFoundButInvalidException;
 import main.Storage;
 import main.TaskList;
+import main.TaskSelection;
 import main.Ui;
+import task.Task;
 
 /**
- * A Command to unmark a specific task in the list
+ * A Command to unmark a specific task, or several selected tasks at once, in the list
  */
 public class UnmarkCommand implements Command {
     private String description;
@@ -31,8 +35,13 @@ public class UnmarkCommand implements Command {
      */
     @Override
     public String execute(TaskList taskList, Ui ui, Storage storage) throws CommandFoundButInvalidException {
-        taskList.unmark(this.description);
+        if (TaskSelection.isBulk(this.description)) {
+            List<Task> unmarked = taskList.unmarkAll(this.description);
+            storage.put(taskList);
+            return ui.unmarkedAllMessage(unmarked);
+        }
+        Task unmarked = taskList.unmark(this.description);
         storage.put(taskList);
-        return ui.markedMessage(taskList.getLastUnmarked());
+        return ui.unmarkedMessage(unmarked);
     }
 }
@@ -17,6 +17,7 @@ import javafx.scene.layout.HBox;
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * A dialog box can be reused to show another message, as the cells of the conversation list do.
  */
 public class DialogBox extends HBox {
     @FXML
@@ -24,6 +25,8 @@ public class DialogBox extends HBox {
     @FXML
     private ImageView displayPicture;
 
+    private boolean isFlipped;
+
     private DialogBox(String text, Image img) {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
@@ -39,13 +42,29 @@ public class DialogBox extends HBox {
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows another message in the dialog box.
+     *
+     * @param text the text of the message
+     * @param img the picture of the speaker
+     * @param isReply whether the picture is to be on the left and the text on the right, as for Hyperion's replies
+     */
+    public void show(String text, Image img, boolean isReply) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (isReply != isFlipped) {
+            flip();
+        }
+    }
+
+    /**
+     * Flips the dialog box such that the ImageView is on the left and text on the right, or back.
      */
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+        setAlignment(isFlipped ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
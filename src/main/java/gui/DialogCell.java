@@ -0,0 +1,44 @@
+package gui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A cell of the conversation list, showing a message in a {@code DialogBox}.
+ * Only the cells that are visible are created, and each one loads its {@code DialogBox} once and
+ * reuses it for every message scrolled into it.
+ */
+public class DialogCell extends ListCell<DialogMessage> {
+    private final Image userImage;
+    private final Image hyperionImage;
+    private DialogBox dialogBox;
+
+    /**
+     * Constructs a {@code DialogCell} showing the given pictures next to the messages.
+     *
+     * @param userImage the picture shown next to messages from the user
+     * @param hyperionImage the picture shown next to messages from Hyperion
+     */
+    public DialogCell(Image userImage, Image hyperionImage) {
+        this.userImage = userImage;
+        this.hyperionImage = hyperionImage;
+        // Lets the width of the list decide where the text wraps, instead of the text widening the list.
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(DialogMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        if (dialogBox == null) {
+            dialogBox = DialogBox.getUserDialog("", userImage);
+        }
+        dialogBox.show(message.getText(), message.isFromUser() ? userImage : hyperionImage,
+                !message.isFromUser());
+        setGraphic(dialogBox);
+    }
+}
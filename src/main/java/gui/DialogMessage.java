@@ -0,0 +1,29 @@
+package gui;
+
+/**
+ * Represents a single message of the conversation shown in the main window.
+ * Messages are immutable, so a pending reply is replaced by a new message once it arrives.
+ */
+public class DialogMessage {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructs a {@code DialogMessage} with the given text.
+     *
+     * @param text the text of the message
+     * @param isFromUser whether the message was sent by the user rather than by Hyperion
+     */
+    public DialogMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    public boolean isFromUser() {
+        return this.isFromUser;
+    }
+}
@@ -15,6 +15,7 @@ import main.Hyperion;
 public class Main extends Application {
 
     private Hyperion hyperion = new Hyperion();
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -24,10 +25,19 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("Hyperion");
-            fxmlLoader.<MainWindow>getController().setHyperion(hyperion);
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setHyperion(hyperion);
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        hyperion.close();
+    }
 }
@@ -1,32 +1,51 @@
 package gui;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 import main.Hyperion;
 import main.Ui;
 
 /**
  * Controller for the main GUI.
+ * Commands are run one at a time, in the order they were entered, on a background thread, so that
+ * saving or searching a large list never freezes the window. Each reply is shown as pending until
+ * its command is done.
+ * The conversation is shown in a {@code ListView}, which only lays out the messages that are visible,
+ * and only the most recent messages are kept, up to the {@code hyperion.scrollback} system property.
  */
 public class MainWindow extends AnchorPane {
+    public static final int DEFAULT_SCROLLBACK = 10000;
+
+    private static final String PENDING_TEXT = "...";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<DialogMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Hyperion hyperion;
+    private final ObservableList<DialogMessage> messages = FXCollections.observableArrayList();
+    private final int scrollback = Math.max(1, Integer.getInteger("hyperion.scrollback", DEFAULT_SCROLLBACK));
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hyperion-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image hyperionImage = new Image(this.getClass().getResourceAsStream("/images/Hyperion.png"));
@@ -36,10 +55,9 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.getChildren().addAll(
-                DialogBox.getHyperionDialog(Ui.welcome(), hyperionImage)
-        );
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogCell(userImage, hyperionImage));
+        this.append(new DialogMessage(Ui.welcome(), false));
     }
 
     /** Injects the Hyperion instance */
@@ -48,22 +66,73 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Appends two messages, one echoing user input and the other showing that Hyperion's reply is
+     * pending, to the conversation. The command is run in the background and the reply replaces the
+     * pending message once it is ready. Clears the user input straight away.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = hyperion.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getHyperionDialog(response, hyperionImage)
-        );
+        DialogMessage pending = new DialogMessage(PENDING_TEXT, false);
+        this.append(new DialogMessage(input, true), pending);
         userInput.clear();
-        if (input.equals("bye")) {
+        commandExecutor.execute(() -> {
+            String response = this.respond(input);
+            boolean isExited = hyperion.isExited();
+            Platform.runLater(() -> this.showResponse(pending, response, isExited));
+        });
+    }
+
+    /**
+     * Adds messages to the end of the conversation, drops the oldest messages beyond the scrollback
+     * and scrolls to the newest message.
+     */
+    private void append(DialogMessage... newMessages) {
+        messages.addAll(newMessages);
+        if (messages.size() > scrollback) {
+            messages.remove(0, messages.size() - scrollback);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Returns Hyperion's reply to the input, or the error if running the command failed unexpectedly,
+     * so that the reply never stays pending.
+     */
+    private String respond(String input) {
+        try {
+            return hyperion.getResponse(input);
+        } catch (RuntimeException e) {
+            return "Something went wrong: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Replaces the pending message with the reply, unless it has already been dropped from the scrollback,
+     * and closes the window shortly after if the command was {@code bye}.
+     * The pending message is searched for from the end, as it is almost always one of the last messages.
+     */
+    private void showResponse(DialogMessage pending, String response, boolean isExited) {
+        int index = messages.lastIndexOf(pending);
+        if (index >= 0) {
+            messages.set(index, new DialogMessage(response, false));
+        }
+        if (isExited) {
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
             delay.setOnFinished(event -> Platform.exit());
             delay.play();
         }
     }
+
+    /**
+     * Waits for the commands that were already entered to finish and stops running new ones.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
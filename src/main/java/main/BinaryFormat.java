@@ -0,0 +1,137 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+/**
+ * A compact storage format that is read back without any text parsing.
+ * The file starts with a magic number, a version, the journal generation and the next id, followed by the
+ * number of tasks. Each task is its id, a type byte, a done flag, a length-prefixed UTF-8 description
+ * and its dates as epoch seconds.
+ */
+public class BinaryFormat implements StorageFormat {
+    public static final byte[] MAGIC = {'H', 'Y', 'P', 'B'};
+    private static final byte VERSION = 3;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+
+    @Override
+    public SnapshotHeader read(InputStream in, List<Task> tasks) throws IOException, CommandFoundButInvalidException {
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
+        try {
+            for (byte b : MAGIC) {
+                if (dis.readByte() != b) {
+                    throw new InvalidSyntaxException("File is corrupted");
+                }
+            }
+            byte version = dis.readByte();
+            if (version != VERSION) {
+                throw new InvalidSyntaxException("File has an unsupported version");
+            }
+            long generation = dis.readLong();
+            long nextId = dis.readLong();
+            int count = dis.readInt();
+            long lastId = 0;
+            for (int i = 0; i < count; i++) {
+                long id = dis.readLong();
+                if (id <= lastId) {
+                    throw new InvalidSyntaxException("File is corrupted");
+                }
+                Task task = readTask(dis);
+                task.setId(id);
+                tasks.add(task);
+                lastId = id;
+            }
+            return new SnapshotHeader(generation, nextId);
+        } catch (EOFException e) {
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+    }
+
+    @Override
+    public void write(OutputStream out, List<Task> tasks, SnapshotHeader header) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.write(MAGIC);
+        dos.writeByte(VERSION);
+        dos.writeLong(header.getGeneration());
+        dos.writeLong(header.getNextId());
+        dos.writeInt(tasks.size());
+        for (Task t : tasks) {
+            writeTask(dos, t);
+        }
+        dos.flush();
+    }
+
+    private static Task readTask(DataInputStream dis) throws IOException, CommandFoundButInvalidException {
+        byte type = dis.readByte();
+        boolean isDone = dis.readBoolean();
+        byte[] bytes = new byte[dis.readInt()];
+        dis.readFully(bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+        Task task;
+        switch (type) {
+        case TODO:
+            task = new ToDos(description);
+            break;
+        case DEADLINE:
+            task = new Deadlines(description, toDateTime(dis.readLong()));
+            break;
+        case EVENT:
+            task = new Events(description, toDateTime(dis.readLong()), toDateTime(dis.readLong()));
+            break;
+        default:
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+        if (isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static void writeTask(DataOutputStream dos, Task t) throws IOException {
+        byte[] bytes = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        dos.writeLong(t.getId());
+        if (t instanceof Deadlines) {
+            dos.writeByte(DEADLINE);
+        } else if (t instanceof Events) {
+            dos.writeByte(EVENT);
+        } else {
+            dos.writeByte(TODO);
+        }
+        dos.writeBoolean(t.isDone());
+        dos.writeInt(bytes.length);
+        dos.write(bytes);
+        if (t instanceof Deadlines) {
+            dos.writeLong(toEpochSecond(((Deadlines) t).getDeadline()));
+        } else if (t instanceof Events) {
+            dos.writeLong(toEpochSecond(((Events) t).getStart()));
+            dos.writeLong(toEpochSecond(((Events) t).getEnd()));
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
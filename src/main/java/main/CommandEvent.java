@@ -0,0 +1,44 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for the time taken to execute a command, including saving the changes it made.
+ * Saves done while the command runs are recorded as {@code hyperion.Save} events on the same thread.
+ */
+@Name("hyperion.Command")
+@Label("Execute Command")
+@Category("Hyperion")
+@Description("Executing a command and building its response")
+class CommandEvent extends jdk.jfr.Event {
+    @Label("Command")
+    String command;
+
+    @Label("Tasks")
+    @Description("The number of tasks in the list after the command")
+    int tasks;
+
+    @Label("Succeeded")
+    @Description("Whether the command was valid and its response was written")
+    boolean isSuccessful;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param cmd the command executed
+     * @param taskList the tasks the command was executed on
+     * @param isSuccessful whether the command completed
+     */
+    void finish(Commands cmd, TaskList taskList, boolean isSuccessful) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.command = cmd.getValue();
+            this.tasks = taskList.getSize();
+            this.isSuccessful = isSuccessful;
+            this.commit();
+        }
+    }
+}
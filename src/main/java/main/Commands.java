@@ -1,5 +1,7 @@
 package main;
 
+import java.util.Arrays;
+
 import exception.CommandNotFoundException;
 
 /**
@@ -16,7 +18,14 @@ public enum Commands {
     UNMARK("unmark"),
     BYE("bye"),
     FIND("find"),
-    SORT("sort");
+    SORT("sort"),
+    BETWEEN("between"),
+    UNDO("undo"),
+    REDO("redo"),
+    MORE("more"),
+    STATS("stats");
+
+    private static final Commands[][] BY_FIRST_LETTER = byFirstLetter();
 
     private final String value;
 
@@ -47,11 +56,46 @@ public enum Commands {
      * @throws CommandNotFoundException if the input string does not match any Commands enum value
      */
     public static Commands fromString(String command) throws CommandNotFoundException {
-        for (Commands cmd : Commands.values()) {
-            if (cmd.getValue().equalsIgnoreCase(command)) {
+        Commands cmd = lookup(command, 0, command.length());
+        if (cmd == null) {
+            throw new CommandNotFoundException(command);
+        }
+        return cmd;
+    }
+
+    /**
+     * Returns the command whose value matches the given part of the text, ignoring case.
+     * Only the commands starting with the same letter are compared, and nothing is allocated.
+     *
+     * @param text the text containing the command
+     * @param start the index of the first character of the command
+     * @param end the index after the last character of the command
+     * @return the matching command, or null if there is none
+     */
+    static Commands lookup(String text, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return null;
+        }
+        int letter = Character.toLowerCase(text.charAt(start)) - 'a';
+        if (letter < 0 || letter >= BY_FIRST_LETTER.length) {
+            return null;
+        }
+        for (Commands cmd : BY_FIRST_LETTER[letter]) {
+            if (cmd.value.length() == length && text.regionMatches(true, start, cmd.value, 0, length)) {
                 return cmd;
             }
         }
-        throw new CommandNotFoundException(command);
+        return null;
+    }
+
+    private static Commands[][] byFirstLetter() {
+        Commands[][] table = new Commands[26][0];
+        for (Commands cmd : Commands.values()) {
+            int letter = cmd.value.charAt(0) - 'a';
+            table[letter] = Arrays.copyOf(table[letter], table[letter].length + 1);
+            table[letter][table[letter].length - 1] = cmd;
+        }
+        return table;
     }
 }
@@ -0,0 +1,194 @@
+package main;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Decides when data written by {@code Storage} is forced to disk with fsync.
+ * Syncing on every write is the most durable and the slowest, syncing at most once per
+ * interval bounds how much can be lost in a crash, and never syncing leaves it to the OS.
+ * Writes that were not synced because the interval had not passed yet are synced by {@link #syncNow}
+ * once the interval is over, so they are not left unsynced when no more writes follow.
+ * The number of syncs and the time spent in them are recorded so the cost of each policy
+ * can be measured.
+ */
+public class DurabilityPolicy {
+    /**
+     * When data is forced to disk.
+     */
+    public enum Mode {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    private final Mode mode;
+    private final long intervalMillis;
+    private long lastSyncMillis;
+    private long syncCount;
+    private long syncNanos;
+
+    private DurabilityPolicy(Mode mode, long intervalMillis) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Returns a policy that syncs after every write.
+     */
+    public static DurabilityPolicy always() {
+        return new DurabilityPolicy(Mode.ALWAYS, 0);
+    }
+
+    /**
+     * Returns a policy that syncs a write only if the last sync was at least the given time ago.
+     *
+     * @param intervalMillis the minimum time between two syncs, in milliseconds
+     */
+    public static DurabilityPolicy every(long intervalMillis) {
+        return new DurabilityPolicy(Mode.INTERVAL, intervalMillis);
+    }
+
+    /**
+     * Returns a policy that never syncs and leaves flushing to the operating system.
+     */
+    public static DurabilityPolicy never() {
+        return new DurabilityPolicy(Mode.NEVER, 0);
+    }
+
+    /**
+     * Returns the policy described by the given string, which is either {@code always},
+     * {@code never} or an interval in milliseconds.
+     *
+     * @param value the description of the policy, or null for {@code never()}
+     * @return the corresponding policy
+     * @throws IllegalArgumentException if the value is neither {@code always}, {@code never} nor an interval
+     */
+    public static DurabilityPolicy fromString(String value) {
+        if (value == null) {
+            return never();
+        }
+        switch (value.trim().toLowerCase()) {
+        case "always":
+            return always();
+        case "never":
+            return never();
+        default:
+            long intervalMillis;
+            try {
+                intervalMillis = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unknown durability policy: " + value);
+            }
+            if (intervalMillis < 0) {
+                throw new IllegalArgumentException("The sync interval cannot be negative: " + value);
+            }
+            return every(intervalMillis);
+        }
+    }
+
+    /**
+     * Returns a new policy with the same mode and interval that has not synced yet.
+     * Every {@code Storage} syncs through its own copy, so stores sharing a {@code StorageConfig}
+     * neither skip each other's interval syncs nor add up each other's sync counts.
+     *
+     * @return a copy of this policy without any recorded syncs
+     */
+    public DurabilityPolicy copy() {
+        return new DurabilityPolicy(this.mode, this.intervalMillis);
+    }
+
+    /**
+     * Forces the data written to the channel to disk if this policy requires it.
+     *
+     * @param channel the channel that was written to
+     * @return true if the channel was synced
+     * @throws IOException if the channel could not be synced
+     */
+    public boolean sync(FileChannel channel) throws IOException {
+        if (!this.isSyncDue()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        channel.force(false);
+        this.recordSync(System.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Forces the data written to the channel to disk regardless of when the last sync was,
+     * unless this policy never syncs.
+     *
+     * @param channel the channel that was written to
+     * @return true if the channel was synced
+     * @throws IOException if the channel could not be synced
+     */
+    public boolean syncNow(FileChannel channel) throws IOException {
+        if (this.mode == Mode.NEVER) {
+            return false;
+        }
+        long start = System.nanoTime();
+        channel.force(false);
+        this.recordSync(System.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Forces a directory entry change, such as a rename, to disk.
+     * Platforms that cannot open directories are silently ignored.
+     *
+     * @param directory the directory that was changed
+     */
+    public void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be synced on this platform, the rename is still atomic
+        }
+    }
+
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    public long getIntervalMillis() {
+        return this.intervalMillis;
+    }
+
+    public synchronized long getSyncCount() {
+        return this.syncCount;
+    }
+
+    public synchronized long getSyncNanos() {
+        return this.syncNanos;
+    }
+
+    private synchronized boolean isSyncDue() {
+        switch (this.mode) {
+        case ALWAYS:
+            return true;
+        case INTERVAL:
+            long now = System.currentTimeMillis();
+            if (now - this.lastSyncMillis < this.intervalMillis) {
+                return false;
+            }
+            this.lastSyncMillis = now;
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private synchronized void recordSync(long nanos) {
+        this.lastSyncMillis = System.currentTimeMillis();
+        this.syncCount++;
+        this.syncNanos += nanos;
+    }
+
+    @Override
+    public String toString() {
+        return this.mode == Mode.INTERVAL ? this.intervalMillis + "ms" : this.mode.name().toLowerCase();
+    }
+}
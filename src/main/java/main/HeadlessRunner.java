@@ -0,0 +1,144 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs Hyperion without the GUI, reading one command per line from standard input or a file and
+ * writing each response to standard output, so that commands can be piped or bulk-imported.
+ * Commands are streamed, so the input can be arbitrarily long, and so are responses, which are written
+ * to the output as they are produced instead of being built as a whole first.
+ * Changes are saved once at the end, or every given number of commands, instead of after every command.
+ * The number of commands processed and the throughput are reported on standard error, which keeps
+ * standard output identical to what the user would see.
+ */
+public class HeadlessRunner {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = "Usage: java main.Hyperion [--input FILE] [--data FILE] "
+            + "[--save-every COMMANDS] [--quiet]";
+
+    private final Path inputPath;
+    private final String dataPath;
+    private final int saveEvery;
+    private final boolean isQuiet;
+
+    /**
+     * Constructs a {@code HeadlessRunner} with the given settings.
+     *
+     * @param inputPath the file to read commands from, or null to read standard input
+     * @param dataPath the path to the file where the tasks are stored
+     * @param saveEvery the number of commands after which changes are saved, or 0 to save only at the end
+     * @param isQuiet whether to leave out the responses and only report the throughput
+     */
+    public HeadlessRunner(Path inputPath, String dataPath, int saveEvery, boolean isQuiet) {
+        this.inputPath = inputPath;
+        this.dataPath = dataPath;
+        this.saveEvery = saveEvery;
+        this.isQuiet = isQuiet;
+    }
+
+    /**
+     * Returns the runner described by the command line arguments of {@code Hyperion}.
+     *
+     * @param args the command line arguments
+     * @return the runner with the given settings
+     * @throws IllegalArgumentException if an argument is not recognised or is missing its value
+     */
+    public static HeadlessRunner fromArgs(String[] args) {
+        Path inputPath = null;
+        String dataPath = Hyperion.FILE_PATH;
+        int saveEvery = 0;
+        boolean isQuiet = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--input":
+                inputPath = Path.of(valueOf(args, ++i));
+                break;
+            case "--data":
+                dataPath = valueOf(args, ++i);
+                break;
+            case "--save-every":
+                try {
+                    saveEvery = Integer.parseInt(valueOf(args, ++i));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                if (saveEvery < 0) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                break;
+            case "--quiet":
+                isQuiet = true;
+                break;
+            default:
+                throw new IllegalArgumentException(USAGE);
+            }
+        }
+        return new HeadlessRunner(inputPath, dataPath, saveEvery, isQuiet);
+    }
+
+    /**
+     * Processes every command until the input ends or {@code bye} is entered, then saves all changes.
+     *
+     * @return the number of commands processed
+     * @throws IOException if the input could not be read or the output could not be written
+     */
+    public long run() throws IOException {
+        StorageConfig config = StorageConfig.fromSystemProperties().setAutoSaved(false);
+        Hyperion hyperion = new Hyperion(this.dataPath, config);
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        Writer responses = this.isQuiet ? Writer.nullWriter() : out;
+        long count = 0;
+        long start = System.nanoTime();
+        try (BufferedReader in = this.openInput()) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                hyperion.respond(line, responses);
+                responses.write('\n');
+                count++;
+                if (hyperion.isExited()) {
+                    break;
+                }
+                if (this.saveEvery > 0 && count % this.saveEvery == 0) {
+                    hyperion.flush();
+                }
+            }
+        } finally {
+            hyperion.close();
+            out.flush();
+        }
+        report(System.err, count, System.nanoTime() - start);
+        return count;
+    }
+
+    private BufferedReader openInput() throws IOException {
+        if (this.inputPath == null) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(this.inputPath, StandardCharsets.UTF_8);
+    }
+
+    private static String valueOf(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        return args[i];
+    }
+
+    private static void report(PrintStream err, long count, long nanos) {
+        double seconds = nanos / 1e9;
+        err.printf("Processed %d commands in %.3f s (%.0f commands/s)%n",
+                count, seconds, seconds > 0 ? count / seconds : 0.0);
+    }
+}
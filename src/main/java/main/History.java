@@ -0,0 +1,80 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * The changes made by the most recent commands, so that they can be undone and redone.
+ * Each command is kept as one entry holding all of its changes, in ring buffers that only grow as
+ * entries are added. At most a given number of changes are kept: the oldest entries are dropped
+ * to make room, so a long session never holds on to more than that many deleted tasks.
+ */
+public class History {
+    private final ArrayDeque<TaskChange[]> undoable;
+    private final ArrayDeque<TaskChange[]> redoable;
+    private final int limit;
+    private int size;
+
+    /**
+     * Constructs an empty {@code History} that keeps at most the given number of changes.
+     *
+     * @param limit the maximum number of changes kept, or 0 to keep none
+     */
+    public History(int limit) {
+        this.undoable = new ArrayDeque<>();
+        this.redoable = new ArrayDeque<>();
+        this.limit = limit;
+        this.size = 0;
+    }
+
+    /**
+     * Records the changes made by a command, which can no longer redo anything undone before it.
+     * Changes that do not fit in the limit even after dropping every older entry are not recorded.
+     *
+     * @param changes the changes made by the command, in the order they were applied
+     */
+    public void record(List<TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        while (!this.redoable.isEmpty()) {
+            this.size -= this.redoable.pop().length;
+        }
+        if (changes.size() > this.limit) {
+            this.undoable.clear();
+            this.size = 0;
+            return;
+        }
+        while (this.size + changes.size() > this.limit) {
+            this.size -= this.undoable.removeLast().length;
+        }
+        this.undoable.push(changes.toArray(new TaskChange[0]));
+        this.size += changes.size();
+    }
+
+    /**
+     * Returns the changes of the most recent command that was not undone, which can then be redone.
+     *
+     * @return the changes in the order they were applied, or null if there is nothing to undo
+     */
+    public TaskChange[] undo() {
+        TaskChange[] changes = this.undoable.poll();
+        if (changes != null) {
+            this.redoable.push(changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the changes of the most recently undone command, which can then be undone again.
+     *
+     * @return the changes in the order they were applied, or null if there is nothing to redo
+     */
+    public TaskChange[] redo() {
+        TaskChange[] changes = this.redoable.poll();
+        if (changes != null) {
+            this.undoable.push(changes);
+        }
+        return changes;
+    }
+}
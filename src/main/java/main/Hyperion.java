@@ -1,5 +1,7 @@
 package main;
 
+import java.io.IOException;
+
 import exception.CommandFoundButInvalidException;
 import exception.HyperionException;
 
@@ -7,12 +9,14 @@ import exception.HyperionException;
  * The main class for the Hyperion application.
  * It initializes the user interface, storage, and task list, and processes user input commands.
  */
-public class Hyperion {
+public class Hyperion implements AutoCloseable {
     public static final String FILE_PATH = "data/tasks.txt";
 
     private Storage storage;
     private TaskList allTasks;
     private Ui ui;
+    private Parser parser;
+    private Metrics metrics;
 
     /**
      * Constructs a {@code Hyperion} instance with a specified file path for storage.
@@ -20,17 +24,76 @@ public class Hyperion {
      *
      */
     public Hyperion() {
+        this(FILE_PATH, StorageConfig.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a {@code Hyperion} instance that stores its tasks in the given file.
+     *
+     * @param filePath the path to the file where the tasks are stored
+     * @param config the settings that decide how the tasks are persisted
+     */
+    public Hyperion(String filePath, StorageConfig config) {
         try {
             this.ui = new Ui();
-            this.storage = new Storage(FILE_PATH);
-            this.allTasks = new TaskList(storage.load());
+            this.storage = new Storage(filePath, config);
+            this.allTasks = new TaskList(storage.load(),
+                    Integer.getInteger("hyperion.historyLimit", TaskList.DEFAULT_HISTORY_LIMIT), storage.getNextId());
+            this.metrics = Metrics.fromSystemProperties();
+            this.parser = new Parser(this.allTasks, this.storage, this.ui, this.metrics);
 
         } catch (CommandFoundButInvalidException e) {
             System.out.print("There is an error" + e.getMessage());
         }
     }
 
+    /**
+     * Runs Hyperion without the GUI, processing the commands piped to standard input or read from a file.
+     *
+     * @param args the options of the {@code HeadlessRunner}
+     */
     public static void main(String[] args) {
+        try {
+            HeadlessRunner.fromArgs(args).run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("An error occurred when reading the commands: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Blocks until every change has been saved, for when the application is closed without {@code bye}.
+     * As there is no command to reply to, a failure to save is printed to standard error.
+     */
+    public void flush() {
+        try {
+            this.storage.flush(this.allTasks);
+        } catch (CommandFoundButInvalidException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Saves every change and stops the thread saving the tasks in the background, for when the application exits.
+     */
+    @Override
+    public void close() {
+        this.flush();
+        this.storage.close();
+    }
+
+    /**
+     * Returns a new {@code Parser} for the tasks, for another session to run commands on them.
+     * The session shares the tasks and their history with every other session, but {@code more}
+     * continues the tasks it listed last. Commands of different sessions must not run at the same time.
+     *
+     * @return a {@code Parser} with its own {@code ResultPager}
+     */
+    public Parser openSession() {
+        return new Parser(this.allTasks, this.storage, this.ui, this.metrics);
     }
 
     /**
@@ -38,10 +101,31 @@ public class Hyperion {
      */
     public String getResponse(String input) {
         try {
-            Parser parser = new Parser(input, allTasks, this.storage, this.ui);
-            return parser.run();
+            return this.parser.run(input);
         } catch (HyperionException e) {
             return e.getMessage();
         }
     }
+
+    /**
+     * Returns whether the user's last chat message was a {@code bye} command that completed.
+     */
+    public boolean isExited() {
+        return this.parser.isExited();
+    }
+
+    /**
+     * Writes the response for the user's chat message to the sink as it is produced.
+     *
+     * @param input the user's chat message
+     * @param out the sink the response is written to
+     * @throws IOException if the response could not be written
+     */
+    public void respond(String input, Appendable out) throws IOException {
+        try {
+            this.parser.run(input, out);
+        } catch (HyperionException e) {
+            out.append(e.getMessage());
+        }
+    }
 }
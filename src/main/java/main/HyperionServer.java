@@ -0,0 +1,346 @@
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import exception.HyperionException;
+
+/**
+ * Serves Hyperion to many clients at once over a TCP port on the local machine.
+ * A client first sends the name of its user, and then one command per line, and receives each response
+ * followed by an empty line. Every user has their own tasks, stored in a directory of their own, and
+ * sessions of the same user share them; every session has its own {@code Parser}, so {@code more}
+ * continues what that session listed last.
+ * A single thread accepts connections and does all reading and writing without blocking, while commands
+ * run on a pool of workers. Commands of the same user run one at a time, and commands of different users
+ * run in parallel.
+ */
+public class HyperionServer implements Closeable {
+    public static final int DEFAULT_PORT = 5050;
+
+    private static final String DATA_FILE = "tasks.txt";
+    private static final String USAGE = "Usage: java main.HyperionServer [--port PORT] [--data DIRECTORY] "
+            + "[--workers THREADS]";
+    private static final Pattern USER_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    private static final int READ_BUFFER_SIZE = 1 << 14;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers;
+    private final Path dataDirectory;
+    private final StorageConfig config;
+    private final Map<String, Hyperion> users;
+    private final Queue<Session> updated;
+    private final ByteBuffer readBuffer;
+    private final CountDownLatch stopped;
+    private volatile boolean isOpen;
+    private boolean isServing;
+
+    /**
+     * Constructs a {@code HyperionServer} listening on the given port of the loopback address.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @param dataDirectory the directory holding a directory of tasks for each user
+     * @param workerCount the number of commands run at the same time
+     * @throws IOException if the port could not be opened
+     */
+    public HyperionServer(int port, Path dataDirectory, int workerCount) throws IOException {
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.server.configureBlocking(false);
+        this.server.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "hyperion-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dataDirectory = dataDirectory;
+        this.config = StorageConfig.fromSystemProperties();
+        this.users = new ConcurrentHashMap<>();
+        this.updated = new ConcurrentLinkedQueue<>();
+        this.readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        this.stopped = new CountDownLatch(1);
+        this.isOpen = true;
+        this.isServing = false;
+    }
+
+    /**
+     * Starts a server with the settings given on the command line and serves until the process is stopped.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        Path dataDirectory = Path.of("data", "users");
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                case "--data":
+                    dataDirectory = Path.of(valueOf(args, ++i));
+                    break;
+                case "--workers":
+                    workerCount = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                default:
+                    throw new IllegalArgumentException(USAGE);
+                }
+            }
+            if (workerCount < 1) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            HyperionServer server = new HyperionServer(port, dataDirectory, workerCount);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.err.println("Hyperion is listening on port " + server.getPort());
+            server.run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e instanceof NumberFormatException ? USAGE : e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("An error occurred when serving: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     * @throws IOException if the port could not be read
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) this.server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Accepts clients and serves them until the server is closed.
+     *
+     * @throws IOException if the server could not wait for clients
+     */
+    public void run() throws IOException {
+        synchronized (this) {
+            if (!this.isOpen || this.isServing) {
+                return;
+            }
+            this.isServing = true;
+        }
+        try {
+            while (this.isOpen) {
+                this.selector.select();
+                Session session;
+                while ((session = this.updated.poll()) != null) {
+                    this.update(session);
+                }
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    this.handle(key);
+                }
+            }
+        } finally {
+            this.stop();
+            this.stopped.countDown();
+        }
+    }
+
+    /**
+     * Stops accepting clients, disconnects every client and saves the tasks of every user.
+     * Commands that are running are completed first. If the server is serving, this waits until
+     * the serving thread has stopped.
+     */
+    @Override
+    public void close() {
+        boolean isStopping;
+        synchronized (this) {
+            this.isOpen = false;
+            isStopping = this.isServing;
+        }
+        this.selector.wakeup();
+        if (!isStopping) {
+            this.stop();
+            return;
+        }
+        try {
+            this.stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lets running commands complete, saves every user's tasks, stops their background saving
+     * and closes every connection.
+     * Only called once the selector is no longer used.
+     */
+    private synchronized void stop() {
+        if (this.workers.isShutdown()) {
+            return;
+        }
+        this.workers.shutdown();
+        try {
+            this.workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.users.values().forEach(Hyperion::close);
+        for (SelectionKey key : this.selector.keys()) {
+            closeQuietly(key);
+        }
+        try {
+            this.selector.close();
+            this.server.close();
+        } catch (IOException e) {
+            System.err.println("An error occurred when closing the server: " + e.getMessage());
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        try {
+            if (key.isAcceptable()) {
+                this.accept();
+                return;
+            }
+            Session session = (Session) key.attachment();
+            if (key.isReadable()) {
+                this.read(session, key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                session.flush();
+            }
+            this.update(session);
+        } catch (IOException e) {
+            closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = this.server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Session session = new Session(channel);
+        channel.register(this.selector, SelectionKey.OP_READ, session);
+        session.send("Welcome to Hyperion! Please enter your user name", false);
+        this.update(session);
+    }
+
+    private void read(Session session, SelectionKey key) throws IOException {
+        this.readBuffer.clear();
+        if (session.getChannel().read(this.readBuffer) == -1) {
+            session.endInput();
+            return;
+        }
+        this.readBuffer.flip();
+        if (!session.receive(this.readBuffer)) {
+            session.reject("Uh Oh, that line is too long");
+        }
+    }
+
+    /**
+     * Starts the next command of the session if it is idle, and waits for what the session is ready for.
+     * Only called on the selector thread.
+     */
+    private void update(Session session) {
+        SelectionKey key = session.getChannel().keyFor(this.selector);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        String line = session.nextLine();
+        if (line != null) {
+            this.workers.execute(() -> this.process(session, line));
+        }
+        if (session.isFinished()) {
+            closeQuietly(key);
+            return;
+        }
+        key.interestOps(session.interestOps());
+    }
+
+    /**
+     * Runs a line of the session on a worker and hands its response back to the selector thread.
+     */
+    private void process(Session session, String line) {
+        try {
+            if (!session.isLoggedIn()) {
+                this.logIn(session, line.trim());
+            } else {
+                StringBuilder response = this.run(session, line);
+                session.send(response, session.getParser().isExited());
+            }
+        } catch (RuntimeException e) {
+            session.send("Something went wrong: " + e.getMessage(), false);
+        }
+        this.updated.add(session);
+        this.selector.wakeup();
+    }
+
+    private void logIn(Session session, String name) {
+        if (!USER_NAME.matcher(name).matches()) {
+            session.send("Uh Oh, a user name can only have up to 32 letters, digits, - and _", false);
+            return;
+        }
+        session.logIn(this.users.computeIfAbsent(name, user -> new Hyperion(
+                this.dataDirectory.resolve(user).resolve(DATA_FILE).toString(), this.config)));
+        session.send(Ui.welcome(), false);
+    }
+
+    private StringBuilder run(Session session, String line) {
+        StringBuilder response = new StringBuilder();
+        Hyperion user = session.getUser();
+        synchronized (user) {
+            try {
+                session.getParser().run(line, response);
+            } catch (HyperionException e) {
+                response.setLength(0);
+                response.append(e.getMessage());
+            } catch (IOException e) {
+                // A StringBuilder never fails to append.
+                throw new IllegalStateException(e);
+            }
+        }
+        return response;
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The client is gone either way.
+        }
+    }
+
+    private static String valueOf(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        return args[i];
+    }
+}
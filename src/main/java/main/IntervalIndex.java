@@ -0,0 +1,186 @@
+package main;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import task.Events;
+import task.Task;
+
+/**
+ * An interval tree over the start and end times of {@code Events}, finding the events that
+ * overlap a time window in O(log n + k). It is a treap ordered by start time, where every
+ * node also records the latest end time in its subtree, so subtrees that end before the
+ * window can be skipped.
+ */
+public class IntervalIndex implements TaskIndex {
+    private final Map<Long, Node> nodes;
+    private final Random random;
+    private Node root;
+
+    /**
+     * A node of the treap, holding a single event.
+     */
+    private static class Node {
+        private Events event;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Events event, int priority) {
+            this.event = event;
+            this.priority = priority;
+            this.maxEnd = event.getEnd();
+        }
+
+        private int compareTo(Node other) {
+            int result = this.event.getStart().compareTo(other.event.getStart());
+            return result != 0 ? result : Long.compare(this.event.getId(), other.event.getId());
+        }
+
+        private void update() {
+            this.maxEnd = this.event.getEnd();
+            if (this.left != null && this.left.maxEnd.isAfter(this.maxEnd)) {
+                this.maxEnd = this.left.maxEnd;
+            }
+            if (this.right != null && this.right.maxEnd.isAfter(this.maxEnd)) {
+                this.maxEnd = this.right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Constructs an {@code IntervalIndex} over the events among the given tasks.
+     *
+     * @param tasks the tasks to be indexed, in list order
+     */
+    public IntervalIndex(List<Task> tasks) {
+        this.nodes = new HashMap<>();
+        this.random = new Random();
+        for (Task task : tasks) {
+            this.add(task);
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (!(task instanceof Events)) {
+            return;
+        }
+        Node node = new Node((Events) task, this.random.nextInt());
+        this.nodes.put(task.getId(), node);
+        this.root = insert(this.root, node);
+    }
+
+    @Override
+    public void remove(Task task) {
+        Node node = this.nodes.remove(task.getId());
+        if (node != null) {
+            this.root = delete(this.root, node);
+        }
+    }
+
+    /**
+     * Replaces an event whose done status has changed, which does not affect its time window.
+     * The event replaced may be another copy of it, if the index was built from a snapshot of the list.
+     */
+    @Override
+    public void update(Task task) {
+        Node node = this.nodes.get(task.getId());
+        if (node != null) {
+            node.event = (Events) task;
+        }
+    }
+
+    /**
+     * Returns the events that overlap the given window, ordered by start time.
+     *
+     * @param from the start of the window, inclusive
+     * @param to the end of the window, inclusive
+     * @return the events that start no later than {@code to} and end no earlier than {@code from}
+     */
+    public List<Task> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        collect(this.root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Task> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.event.getStart().isAfter(to)) {
+            return;
+        }
+        if (!node.event.getEnd().isBefore(from)) {
+            result.add(node.event);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.compareTo(root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        int comparison = node.compareTo(root);
+        if (comparison < 0) {
+            root.left = delete(root.left, node);
+        } else if (comparison > 0) {
+            root.right = delete(root.right, node);
+        } else if (root.left == null) {
+            return root.right;
+        } else if (root.right == null) {
+            return root.left;
+        } else if (root.left.priority > root.right.priority) {
+            root = rotateRight(root);
+            root.right = delete(root.right, node);
+        } else {
+            root = rotateLeft(root);
+            root.left = delete(root.left, node);
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+}
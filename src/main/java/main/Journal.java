@@ -0,0 +1,330 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import task.Task;
+
+/**
+ * An append-only log of the changes made to the tasks since the last snapshot.
+ * The log is split into numbered segments so that a snapshot can be written in the
+ * background while new changes keep being appended to the next segment.
+ * Each change is a single line, so persisting a mutation costs the same regardless
+ * of how many tasks are stored. Changes refer to tasks by id, as {@code #ID}.
+ * As every new task is journaled with its id, the highest id in the journal bounds the ids given out
+ * since the last snapshot, even if those tasks were deleted again.
+ */
+public class Journal {
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final String baseName;
+    private final DurabilityPolicy durabilityPolicy;
+    private long generation;
+    private int recordCount;
+    private FileChannel out;
+    private boolean isSynced;
+    private long highestId;
+
+    /**
+     * Constructs a {@code Journal} whose segments are stored next to the given snapshot file.
+     *
+     * @param snapshotPath the path of the snapshot file the journal belongs to
+     * @param durabilityPolicy the policy deciding when appended records are synced to disk
+     */
+    public Journal(Path snapshotPath, DurabilityPolicy durabilityPolicy) {
+        this.directory = snapshotPath.toAbsolutePath().getParent();
+        this.baseName = snapshotPath.getFileName().toString();
+        this.durabilityPolicy = durabilityPolicy;
+        this.generation = 1;
+        this.recordCount = 0;
+        this.isSynced = true;
+    }
+
+    /**
+     * Replays every segment newer than the given snapshot generation onto the tasks.
+     * New changes are appended to the latest segment afterwards.
+     *
+     * @param tasks the tasks read from the snapshot
+     * @param snapshotGeneration the last generation already contained in the snapshot
+     * @throws CommandFoundButInvalidException if a segment is corrupted
+     */
+    public void replay(List<Task> tasks, long snapshotGeneration) throws CommandFoundButInvalidException {
+        this.generation = snapshotGeneration + 1;
+        this.recordCount = 0;
+        this.highestId = 0;
+        try {
+            for (Path segment : this.listSegments()) {
+                long segmentGeneration = this.generationOf(segment);
+                if (segmentGeneration <= snapshotGeneration) {
+                    Files.delete(segment);
+                    continue;
+                }
+                this.recordCount += this.replaySegment(segment, tasks);
+                this.generation = segmentGeneration;
+            }
+        } catch (IOException e) {
+            throw new InvalidSyntaxException("something went wrong when replaying the journal");
+        }
+    }
+
+    /**
+     * Appends the given changes to the current segment with a single write, syncing it to disk
+     * if the durability policy requires it.
+     *
+     * @param changes the changes to be appended
+     * @return the number of bytes appended
+     * @throws IOException if the segment could not be written
+     */
+    public synchronized long append(List<TaskChange> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        StringBuilder records = new StringBuilder();
+        for (TaskChange change : changes) {
+            encode(change, records);
+            records.append('\n');
+        }
+        if (this.out == null) {
+            this.out = FileChannel.open(this.segmentPath(this.generation), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            this.out.write(buffer);
+        }
+        this.isSynced = this.durabilityPolicy.sync(this.out);
+        this.recordCount += changes.size();
+        return buffer.capacity();
+    }
+
+    /**
+     * Forces the records appended to the current segment to disk if the last append did not sync them,
+     * unless the durability policy never syncs.
+     *
+     * @throws IOException if the segment could not be synced
+     */
+    public synchronized void sync() throws IOException {
+        if (this.out != null && !this.isSynced) {
+            this.isSynced = this.durabilityPolicy.syncNow(this.out);
+        }
+    }
+
+    /**
+     * Returns whether every record appended so far has been synced to disk.
+     *
+     * @return false if the last append was not synced
+     */
+    public synchronized boolean isSynced() {
+        return this.out == null || this.isSynced;
+    }
+
+    /**
+     * Closes the current segment, after syncing the records that were not synced yet, and starts a new one.
+     *
+     * @return the generation of the segment that was closed
+     * @throws IOException if the current segment could not be closed
+     */
+    public synchronized long rotate() throws IOException {
+        if (this.out != null) {
+            this.sync();
+            this.out.close();
+            this.out = null;
+        }
+        this.recordCount = 0;
+        return this.generation++;
+    }
+
+    /**
+     * Deletes every segment up to and including the given generation, as they are
+     * now contained in a snapshot.
+     *
+     * @param lastGeneration the last generation contained in the snapshot
+     * @throws IOException if a segment could not be deleted
+     */
+    public void deleteUpTo(long lastGeneration) throws IOException {
+        for (Path segment : this.listSegments()) {
+            if (this.generationOf(segment) <= lastGeneration) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /**
+     * Returns whether there are changes on disk that are not yet contained in the snapshot.
+     *
+     * @return true if at least one segment exists
+     * @throws IOException if the directory could not be read
+     */
+    public boolean hasSegments() throws IOException {
+        return !this.listSegments().isEmpty() || this.out != null;
+    }
+
+    /**
+     * Returns the highest task id referred to by the records replayed by the last {@link #replay}.
+     *
+     * @return the highest id, or 0 if no record referred to a task by id
+     */
+    public long getHighestId() {
+        return this.highestId;
+    }
+
+    /**
+     * Returns the number of records appended to the current segment.
+     *
+     * @return the number of records since the last rotation
+     */
+    public int getRecordCount() {
+        return this.recordCount;
+    }
+
+    private Path segmentPath(long segmentGeneration) {
+        return this.directory.resolve(this.baseName + "." + segmentGeneration + SEGMENT_SUFFIX);
+    }
+
+    private long generationOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(this.baseName.length() + 1, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory,
+                path -> this.isSegment(path.getFileName().toString()))) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((s1, s2) -> Long.compare(this.generationOf(s1), this.generationOf(s2)));
+        return segments;
+    }
+
+    private boolean isSegment(String name) {
+        if (!name.startsWith(this.baseName + ".") || !name.endsWith(SEGMENT_SUFFIX)) {
+            return false;
+        }
+        int start = this.baseName.length() + 1;
+        int end = name.length() - SEGMENT_SUFFIX.length();
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replays a single segment and drops a trailing record that was only partially written.
+     */
+    private int replaySegment(Path segment, List<Task> tasks)
+            throws IOException, CommandFoundButInvalidException {
+        String content = Files.readString(segment, StandardCharsets.UTF_8);
+        int count = 0;
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) != -1) {
+            this.highestId = Math.max(this.highestId, apply(content.substring(start, end), tasks));
+            count++;
+            start = end + 1;
+        }
+        if (start < content.length()) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(content.substring(0, start).getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        return count;
+    }
+
+    private static void encode(TaskChange change, StringBuilder records) {
+        switch (change.getKind()) {
+        case ADD:
+            records.append("A ").append(TextFormat.formatLine(change.getTask()));
+            break;
+        case DELETE:
+            records.append("D #").append(change.getTask().getId());
+            break;
+        case MARK:
+            records.append("M #").append(change.getTask().getId());
+            break;
+        case UNMARK:
+            records.append("U #").append(change.getTask().getId());
+            break;
+        default:
+            throw new IllegalStateException("Unknown change " + change.getKind());
+        }
+    }
+
+    /**
+     * Applies a single record to the tasks.
+     *
+     * @return the id of the task the record refers to
+     */
+    private static long apply(String record, List<Task> tasks) throws CommandFoundButInvalidException {
+        if (record.length() < 3) {
+            throw new InvalidSyntaxException("Journal is corrupted");
+        }
+        String payload = record.substring(2);
+        try {
+            Task task;
+            switch (record.charAt(0)) {
+            case 'A':
+                task = TextFormat.parseLine(payload);
+                add(task, tasks);
+                break;
+            case 'D':
+                task = tasks.remove(indexOf(payload, tasks));
+                break;
+            case 'M':
+                task = tasks.get(indexOf(payload, tasks));
+                task.markAsDone();
+                break;
+            case 'U':
+                task = tasks.get(indexOf(payload, tasks));
+                task.markAsNotDone();
+                break;
+            default:
+                throw new InvalidSyntaxException("Journal is corrupted");
+            }
+            return task.getId();
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new InvalidSyntaxException("Journal is corrupted");
+        }
+    }
+
+    /**
+     * Inserts a replayed task at the position its id belongs at, which is the end of the list unless
+     * the task was added back by an undo.
+     */
+    private static void add(Task task, List<Task> tasks) throws CommandFoundButInvalidException {
+        int index = TaskList.indexOf(tasks, task.getId());
+        if (task.getId() == 0 || index >= 0) {
+            throw new InvalidSyntaxException("Journal is corrupted");
+        }
+        tasks.add(-index - 1, task);
+    }
+
+    /**
+     * Returns the position of the task referred to by a record as {@code #ID}.
+     */
+    private static int indexOf(String payload, List<Task> tasks) {
+        if (payload.charAt(0) != '#') {
+            throw new NumberFormatException("No id in " + payload);
+        }
+        int index = TaskList.indexOf(tasks, Long.parseLong(payload.substring(1)));
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("No task with id " + payload);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,118 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets whose width grows with the latency, so that any latency from a nanosecond
+ * to centuries is kept to within an eighth of its value in a fixed, small array.
+ * Recording takes no lock and allocates nothing, so latencies can be recorded from many threads at once.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong count;
+    private final AtomicLong max;
+
+    /**
+     * Constructs an empty {@code LatencyHistogram}.
+     */
+    LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, where a negative latency counts as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.buckets.incrementAndGet(indexOf(value));
+        this.count.incrementAndGet();
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies recorded
+     */
+    long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Returns the highest latency recorded.
+     *
+     * @return the highest latency in nanoseconds, or 0 if none was recorded
+     */
+    long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns the latency that the given fraction of the recorded latencies are at or below.
+     * The result is the upper end of the bucket it falls in, so it is never below the actual latency
+     * and overestimates it by at most an eighth.
+     *
+     * @param fraction the fraction of latencies, from 0 to 1, e.g. 0.99 for the 99th percentile
+     * @return the latency in nanoseconds, or 0 if none was recorded
+     */
+    long getPercentile(double fraction) {
+        long total = this.count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Forgets every latency recorded so far.
+     * Latencies recorded at the same time may be only partly forgotten.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.set(0);
+        this.max.set(0);
+    }
+
+    /**
+     * Returns the bucket of a latency. Latencies below {@code SUB_BUCKETS} have a bucket each, and every
+     * power of two above is split into {@code SUB_BUCKETS} buckets of equal width.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the highest latency counted in the given bucket.
+     */
+    static long highestValueIn(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
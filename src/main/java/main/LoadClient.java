@@ -0,0 +1,197 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many commands a {@code HyperionServer} on the local machine completes per second, and how
+ * long each takes, with many clients sending commands at once.
+ * Each client sends its next command as soon as the response to the previous one has arrived, cycling
+ * through adding, listing, finding, marking, unmarking and deleting tasks, so that the number of tasks
+ * stays small. Clients are spread evenly over the given number of users, to measure how commands of the
+ * same user wait for each other.
+ */
+public class LoadClient {
+    private static final String USAGE = "Usage: java main.LoadClient [--port PORT] [--clients CLIENTS] "
+            + "[--commands COMMANDS] [--users USERS]";
+    private static final String[] COMMANDS = {"todo load task", "list", "find load", "mark 1", "unmark 1", "delete 1"};
+
+    private final int port;
+    private final int clientCount;
+    private final int commandCount;
+    private final int userCount;
+    private final LatencyHistogram latencies;
+    private final AtomicLong failures;
+
+    /**
+     * Constructs a {@code LoadClient} with the given settings.
+     *
+     * @param port the port the server listens on
+     * @param clientCount the number of clients connected at the same time
+     * @param commandCount the number of commands each client sends
+     * @param userCount the number of users the clients log in as
+     */
+    public LoadClient(int port, int clientCount, int commandCount, int userCount) {
+        this.port = port;
+        this.clientCount = clientCount;
+        this.commandCount = commandCount;
+        this.userCount = userCount;
+        this.latencies = new LatencyHistogram();
+        this.failures = new AtomicLong();
+    }
+
+    /**
+     * Runs a load test with the settings given on the command line and reports the results.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int port = HyperionServer.DEFAULT_PORT;
+        int clientCount = 10;
+        int commandCount = 1000;
+        int userCount = -1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                case "--clients":
+                    clientCount = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                case "--commands":
+                    commandCount = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                case "--users":
+                    userCount = Integer.parseInt(valueOf(args, ++i));
+                    break;
+                default:
+                    throw new IllegalArgumentException(USAGE);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        if (clientCount < 1 || commandCount < 0 || userCount == 0 || userCount < -1) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        LoadClient client = new LoadClient(port, clientCount, commandCount, userCount == -1 ? clientCount : userCount);
+        try {
+            client.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Connects every client, lets them all send their commands at once and reports the results on standard output.
+     *
+     * @return the number of commands that got a response
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public long run() throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(this.clientCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < this.clientCount; i++) {
+            String user = "load-" + (i % this.userCount);
+            Thread thread = new Thread(() -> this.runClient(user, ready, start), "load-client-" + i);
+            clients.add(thread);
+            thread.start();
+        }
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        long nanos = System.nanoTime() - startTime;
+        this.report(nanos);
+        return this.latencies.getCount();
+    }
+
+    private void runClient(String user, CountDownLatch ready, CountDownLatch start) {
+        boolean isReady = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.port)) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            readResponse(in);
+            send(out, user);
+            readResponse(in);
+            ready.countDown();
+            isReady = true;
+            start.await();
+            for (int i = 0; i < this.commandCount; i++) {
+                String command = COMMANDS[i % COMMANDS.length];
+                long sent = System.nanoTime();
+                send(out, i % COMMANDS.length == 0 ? command + " " + i : command);
+                readResponse(in);
+                this.latencies.record(System.nanoTime() - sent);
+            }
+            send(out, "bye");
+            readResponse(in);
+        } catch (IOException e) {
+            this.failures.incrementAndGet();
+            System.err.println(Thread.currentThread().getName() + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!isReady) {
+                ready.countDown();
+            }
+        }
+    }
+
+    private void report(long nanos) {
+        double seconds = nanos / 1e9;
+        long count = this.latencies.getCount();
+        System.out.printf("Completed %d commands from %d clients as %d users in %.3f s (%.0f commands/s)%n",
+                count, this.clientCount, this.userCount, seconds, seconds > 0 ? count / seconds : 0.0);
+        System.out.printf("Latency p50 %.1f us, p99 %.1f us, max %.1f us%n", this.latencies.getPercentile(0.5) / 1e3,
+                this.latencies.getPercentile(0.99) / 1e3, this.latencies.getMax() / 1e3);
+        if (this.failures.get() > 0) {
+            System.out.printf("%d clients failed%n", this.failures.get());
+        }
+    }
+
+    private static void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Reads a response up to the empty line that ends it.
+     */
+    private static void readResponse(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isEmpty()) {
+                return;
+            }
+        }
+        throw new EOFException("The server closed the connection");
+    }
+
+    private static String valueOf(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        return args[i];
+    }
+}
@@ -0,0 +1,30 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for the time taken to load the tasks, including replaying the journal.
+ */
+@Name("hyperion.Load")
+@Label("Load Tasks")
+@Category("Hyperion")
+@Description("Reading the data file and replaying the journal on startup")
+class LoadEvent extends jdk.jfr.Event {
+    @Label("Path")
+    String path;
+
+    @Label("Format")
+    @Description("The format the data file was read in: text, binary or mapped")
+    String format;
+
+    @Label("Tasks")
+    int tasks;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+}
@@ -0,0 +1,321 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import task.Task;
+
+/**
+ * A list of tasks backed by a memory-mapped data file in the text format.
+ * Opening the file only records where each line starts and ends and the id of its task; a {@code Task}
+ * is parsed the first time it is accessed. Tasks added later are kept as regular objects.
+ * Copies of the list share the lines of the file and the tasks parsed from them, so a line is parsed
+ * only once, whether the list itself or one of its copies reads it first.
+ * Every method is synchronized, as a copy of the list can be read by several threads at once.
+ */
+public class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final byte[] GENERATION_HEADER = "# generation ".getBytes(StandardCharsets.US_ASCII);
+    private static final int NOT_MAPPED = -1;
+
+    private final Lines lines;
+    private final SnapshotHeader header;
+    private int[] lineNumbers;
+    private long[] ids;
+    private Task[] tasks;
+    private int size;
+
+    /**
+     * The lines of the mapped file and the tasks parsed from them so far, shared by a list and its copies.
+     */
+    private static class Lines {
+        private final ByteBuffer buffer;
+        private final int[] starts;
+        private final int[] ends;
+        private final Task[] parsed;
+
+        private Lines(ByteBuffer buffer, int[] starts, int[] ends) {
+            this.buffer = buffer;
+            this.starts = starts;
+            this.ends = ends;
+            this.parsed = new Task[starts.length];
+        }
+
+        /**
+         * Returns the task of the line, parsing it with the given id if no list has read it before.
+         */
+        private synchronized Task get(int line, long id, int index) {
+            Task task = this.parsed[line];
+            if (task == null) {
+                try {
+                    task = TextFormat.parseLine(this.getText(line, id));
+                } catch (CommandFoundButInvalidException | RuntimeException e) {
+                    throw new IllegalStateException("File is corrupted at task " + (index + 1), e);
+                }
+                task.setId(id);
+                this.parsed[line] = task;
+            }
+            return task;
+        }
+
+        /**
+         * Returns the line in the text format, from the task if it was parsed, as it may have changed since.
+         */
+        private synchronized String getLine(int line, long id) {
+            Task task = this.parsed[line];
+            return task != null ? TextFormat.formatLine(task) : this.getText(line, id);
+        }
+
+        private String getText(int line, long id) {
+            int start = this.starts[line];
+            byte[] bytes = new byte[this.ends[line] - start];
+            this.buffer.get(start, bytes);
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            return isDigit(this.buffer, start, this.ends[line]) ? text : id + " | " + text;
+        }
+    }
+
+    private MappedTaskList(Lines lines, SnapshotHeader header, int[] lineNumbers, long[] ids, Task[] tasks,
+            int size) {
+        this.lines = lines;
+        this.header = header;
+        this.lineNumbers = lineNumbers;
+        this.ids = ids;
+        this.tasks = tasks;
+        this.size = size;
+    }
+
+    /**
+     * Maps the given file into memory and indexes its lines without parsing any of them.
+     *
+     * @param path the data file in the text format, at most 2GB in size
+     * @return the lazily parsed list of the tasks in the file
+     * @throws IOException if the file could not be mapped
+     * @throws CommandFoundButInvalidException if the header or an id is corrupted
+     */
+    public static MappedTaskList map(Path path) throws IOException, CommandFoundButInvalidException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int limit = buffer.limit();
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        long[] ids = new long[16];
+        int count = 0;
+        SnapshotHeader header = new SnapshotHeader(0, 0);
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (start == 0 && startsWith(buffer, start, end, GENERATION_HEADER)) {
+                header = parseHeader(buffer, start, end);
+            } else {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = end;
+                ids[count] = parseId(buffer, start, end, count == 0 ? 0 : ids[count - 1]);
+                count++;
+            }
+            start = next;
+        }
+        int[] lineNumbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            lineNumbers[i] = i;
+        }
+        Lines lines = new Lines(buffer, Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+        return new MappedTaskList(lines, header, lineNumbers, Arrays.copyOf(ids, count), new Task[count], count);
+    }
+
+    /**
+     * Returns the task at the given position, parsing it from the file if it has not been accessed before.
+     *
+     * @throws IllegalStateException if the line of the task is corrupted
+     */
+    @Override
+    public synchronized Task get(int index) {
+        Objects.checkIndex(index, this.size);
+        int line = this.lineNumbers[index];
+        return line == NOT_MAPPED ? this.tasks[index] : this.lines.get(line, this.ids[index], index);
+    }
+
+    @Override
+    public synchronized Task set(int index, Task task) {
+        Task previous = this.get(index);
+        this.tasks[index] = task;
+        this.lineNumbers[index] = NOT_MAPPED;
+        this.ids[index] = task.getId();
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Task task) {
+        Objects.checkIndex(index, this.size + 1);
+        if (this.size == this.tasks.length) {
+            int capacity = Math.max(16, this.size * 2);
+            this.lineNumbers = Arrays.copyOf(this.lineNumbers, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.tasks = Arrays.copyOf(this.tasks, capacity);
+        }
+        System.arraycopy(this.lineNumbers, index, this.lineNumbers, index + 1, this.size - index);
+        System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+        System.arraycopy(this.tasks, index, this.tasks, index + 1, this.size - index);
+        this.lineNumbers[index] = NOT_MAPPED;
+        this.ids[index] = task.getId();
+        this.tasks[index] = task;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task removed = this.get(index);
+        int moved = this.size - index - 1;
+        System.arraycopy(this.lineNumbers, index + 1, this.lineNumbers, index, moved);
+        System.arraycopy(this.ids, index + 1, this.ids, index, moved);
+        System.arraycopy(this.tasks, index + 1, this.tasks, index, moved);
+        this.size--;
+        this.tasks[this.size] = null;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given positions in a single pass, without parsing any of them.
+     *
+     * @param positions the positions of the tasks to be removed
+     */
+    public synchronized void removeAll(BitSet positions) {
+        int first = positions.nextSetBit(0);
+        if (first < 0 || first >= this.size) {
+            return;
+        }
+        int write = first;
+        for (int read = first; read < this.size; read++) {
+            if (!positions.get(read)) {
+                this.lineNumbers[write] = this.lineNumbers[read];
+                this.ids[write] = this.ids[read];
+                this.tasks[write] = this.tasks[read];
+                write++;
+            }
+        }
+        Arrays.fill(this.tasks, write, this.size, null);
+        this.size = write;
+        this.modCount++;
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the line of the task in the text format, without parsing the task if it was not accessed yet.
+     *
+     * @param index the position of the task
+     * @return the task as a line of the text format, including its id
+     */
+    public synchronized String getLine(int index) {
+        Objects.checkIndex(index, this.size);
+        int line = this.lineNumbers[index];
+        return line == NOT_MAPPED
+                ? TextFormat.formatLine(this.tasks[index])
+                : this.lines.getLine(line, this.ids[index]);
+    }
+
+    /**
+     * Returns the id of the task at the given position, without parsing the task.
+     *
+     * @param index the position of the task
+     * @return the id of the task
+     */
+    public synchronized long getId(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.ids[index];
+    }
+
+    /**
+     * Returns a copy of this list that can be read while this list keeps being modified.
+     * The copy shares the mapped file and the tasks parsed from it with this list, so tasks parsed
+     * through the copy do not have to be parsed again by this list or its later copies.
+     * Nothing is parsed to make the copy.
+     *
+     * @return a copy of the list in its current state
+     */
+    public synchronized MappedTaskList copy() {
+        return new MappedTaskList(this.lines, this.header, Arrays.copyOf(this.lineNumbers, this.size),
+                Arrays.copyOf(this.ids, this.size), Arrays.copyOf(this.tasks, this.size), this.size);
+    }
+
+    /**
+     * Returns the last journal generation contained in the mapped file and the next id.
+     *
+     * @return the header of the file, with a generation and next id of 0 if it does not record them
+     */
+    public SnapshotHeader getHeader() {
+        return this.header;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the id at the start of a line, or returns the id after the previous one for a line without an id.
+     */
+    private static long parseId(ByteBuffer buffer, int start, int end, long previousId)
+            throws CommandFoundButInvalidException {
+        if (!isDigit(buffer, start, end)) {
+            return previousId + 1;
+        }
+        long id = 0;
+        int i = start;
+        while (i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+            id = id * 10 + (buffer.get(i) - '0');
+            i++;
+        }
+        if (id <= previousId || i - start > 18) {
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+        return id;
+    }
+
+    private static boolean isDigit(ByteBuffer buffer, int start, int end) {
+        return start < end && buffer.get(start) >= '0' && buffer.get(start) <= '9';
+    }
+
+    private static SnapshotHeader parseHeader(ByteBuffer buffer, int start, int end)
+            throws CommandFoundButInvalidException {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return TextFormat.parseHeader(new String(bytes, StandardCharsets.US_ASCII));
+    }
+}
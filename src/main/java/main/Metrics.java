@@ -0,0 +1,175 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts the commands run and how long each phase of them took, for every kind of command.
+ * A command is timed while it is parsed, while it is executed, and while the changes it made are
+ * persisted by {@code Storage}; the time persisting is not counted as executing.
+ * Collecting statistics is turned off unless the {@code hyperion.metrics} system property is true, in which
+ * case the commands run are not timed at all. Otherwise, the statistics are shared by every session of the
+ * process, shown by the {@code stats} command and published over JMX.
+ */
+public class Metrics implements MetricsMXBean {
+    /** The name the statistics are published under over JMX. */
+    public static final String OBJECT_NAME = "hyperion:type=Metrics";
+
+    static final Metrics DISABLED = new Metrics(false);
+
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static Metrics shared;
+
+    /**
+     * The phases of running a command that are timed.
+     */
+    public enum Phase {
+        PARSE,
+        EXECUTE,
+        PERSIST
+    }
+
+    private final boolean isEnabled;
+    private final LatencyHistogram[][] histograms;
+
+    /**
+     * Constructs empty {@code Metrics} that are not published over JMX.
+     *
+     * @param isEnabled whether commands are timed
+     */
+    public Metrics(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        this.histograms = new LatencyHistogram[Commands.values().length][Phase.values().length];
+        for (LatencyHistogram[] phases : this.histograms) {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the process, which are published over JMX the first time they are needed,
+     * or statistics that are turned off unless the {@code hyperion.metrics} system property is true.
+     *
+     * @return the statistics commands are counted in
+     */
+    public static synchronized Metrics fromSystemProperties() {
+        if (!Boolean.getBoolean("hyperion.metrics")) {
+            return DISABLED;
+        }
+        if (shared == null) {
+            shared = new Metrics(true);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(shared, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Could not publish the statistics over JMX: " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Returns whether commands are timed.
+     *
+     * @return true if statistics are collected
+     */
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * Records how long each phase of a command took.
+     *
+     * @param cmd the command that was run
+     * @param parseNanos the time taken to parse the command, in nanoseconds
+     * @param executeNanos the time taken to execute the command, excluding persisting, in nanoseconds
+     * @param persistNanos the time taken to persist the changes made by the command, in nanoseconds
+     */
+    public void record(Commands cmd, long parseNanos, long executeNanos, long persistNanos) {
+        LatencyHistogram[] phases = this.histograms[cmd.ordinal()];
+        phases[Phase.PARSE.ordinal()].record(parseNanos);
+        phases[Phase.EXECUTE.ordinal()].record(executeNanos);
+        phases[Phase.PERSIST.ordinal()].record(persistNanos);
+    }
+
+    /**
+     * Writes a table of the count and the 50th percentile, 99th percentile and highest latency of every phase
+     * of every command that was run, in microseconds.
+     *
+     * @param out the sink the table is written to
+     * @throws IOException if the table could not be written
+     */
+    public void report(Appendable out) throws IOException {
+        out.append(String.format(Locale.ROOT, "%-8s %-8s %8s %10s %10s %10s",
+                "command", "phase", "count", "p50 (us)", "p99 (us)", "max (us)"));
+        for (Commands cmd : Commands.values()) {
+            LatencyHistogram[] phases = this.histograms[cmd.ordinal()];
+            if (phases[Phase.EXECUTE.ordinal()].getCount() == 0) {
+                continue;
+            }
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = phases[phase.ordinal()];
+                out.append(String.format(Locale.ROOT, "\n%-8s %-8s %8d %10.1f %10.1f %10.1f",
+                        cmd.getValue(), phase.name().toLowerCase(Locale.ROOT), histogram.getCount(),
+                        histogram.getPercentile(0.5) / NANOS_PER_MICRO,
+                        histogram.getPercentile(0.99) / NANOS_PER_MICRO, histogram.getMax() / NANOS_PER_MICRO));
+            }
+        }
+    }
+
+    @Override
+    public long getCommandCount() {
+        long count = 0;
+        for (LatencyHistogram[] phases : this.histograms) {
+            count += phases[Phase.EXECUTE.ordinal()].getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+        Map<String, Long> latencies = new LinkedHashMap<>();
+        for (Commands cmd : Commands.values()) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = this.histograms[cmd.ordinal()][phase.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String key = cmd.getValue() + "." + phase.name().toLowerCase(Locale.ROOT) + ".";
+                latencies.put(key + "count", histogram.getCount());
+                latencies.put(key + "p50", histogram.getPercentile(0.5));
+                latencies.put(key + "p99", histogram.getPercentile(0.99));
+                latencies.put(key + "max", histogram.getMax());
+            }
+        }
+        return latencies;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        try {
+            this.report(report);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram[] phases : this.histograms) {
+            for (LatencyHistogram histogram : phases) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package main;
+
+import java.util.Map;
+
+/**
+ * The statistics of the commands run, as seen by JMX clients such as JConsole under {@value Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+    /**
+     * Returns the number of commands run so far.
+     *
+     * @return the number of commands of every kind run since the statistics were last reset
+     */
+    long getCommandCount();
+
+    /**
+     * Returns the latencies of every phase of every command that was run, keyed by command, phase and
+     * statistic, e.g. {@code list.execute.p99} for the 99th percentile of the time taken to run {@code list}.
+     * The count of each phase is under {@code count}, e.g. {@code list.execute.count}.
+     *
+     * @return the latencies in nanoseconds, and the counts
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * Returns the statistics as a table, as shown by the {@code stats} command.
+     *
+     * @return the table of statistics
+     */
+    String getReport();
+
+    /**
+     * Forgets the statistics collected so far.
+     */
+    void reset();
+}
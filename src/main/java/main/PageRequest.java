@@ -0,0 +1,123 @@
+package main;
+
+import exception.InvalidSyntaxException;
+
+/**
+ * The page of results asked for by a command, given by the {@code /page} and {@code /size} options at the
+ * end of its description, such as {@code find book /page 2 /size 20}. Either option can be left out, in which
+ * case the first page is shown with the page size of the session's {@code ResultPager}.
+ */
+public class PageRequest {
+    private static final String PAGE = "/page";
+    private static final String SIZE = "/size";
+
+    private final String arguments;
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a {@code PageRequest} for the given page.
+     *
+     * @param arguments the description of the command without the options
+     * @param page the 1-based page number, or 0 for the first page
+     * @param pageSize the number of tasks per page, or 0 for the page size of the {@code ResultPager}
+     */
+    public PageRequest(String arguments, int page, int pageSize) {
+        assert page >= 0 : "pages are numbered from 1";
+        assert pageSize >= 0 : "a page size cannot be negative";
+        this.arguments = arguments;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Splits the {@code /page} and {@code /size} options off the end of the description of a command.
+     * Each option may be given once, followed by a positive number.
+     *
+     * @param description the description given to the command
+     * @param command the command, for the error message
+     * @return the page asked for, with the rest of the description as its arguments
+     * @throws InvalidSyntaxException if an option is repeated or not followed by a positive number
+     */
+    public static PageRequest parse(String description, String command) throws InvalidSyntaxException {
+        String arguments = description;
+        int page = 0;
+        int pageSize = 0;
+        int option;
+        while ((option = lastOption(arguments)) != -1) {
+            boolean isPage = arguments.startsWith(PAGE, option);
+            int valueStart = option + (isPage ? PAGE : SIZE).length();
+            int value = parsePositive(arguments.substring(valueStart).trim(), command);
+            if (isPage ? page != 0 : pageSize != 0) {
+                throw new InvalidSyntaxException(command);
+            }
+            if (isPage) {
+                page = value;
+            } else {
+                pageSize = value;
+            }
+            arguments = arguments.substring(0, option).trim();
+        }
+        return new PageRequest(arguments, page, pageSize);
+    }
+
+    /**
+     * Parses the description of the list command, which may also give the page number on its own,
+     * as in {@code list 3}.
+     *
+     * @param description the description given to the list command
+     * @return the page asked for, with no arguments left
+     * @throws InvalidSyntaxException if the page number or an option is invalid
+     */
+    public static PageRequest parseList(String description) throws InvalidSyntaxException {
+        PageRequest request = parse(description, "list");
+        if (request.arguments.isEmpty()) {
+            return request;
+        }
+        if (request.page != 0) {
+            throw new InvalidSyntaxException("list");
+        }
+        return new PageRequest("", parsePositive(request.arguments, "list"), request.pageSize);
+    }
+
+    /**
+     * Returns the position of the last option in the text, which must start the text or follow a space
+     * and be followed by one, or -1 if there is none.
+     */
+    private static int lastOption(String text) {
+        int page = text.lastIndexOf(PAGE);
+        int size = text.lastIndexOf(SIZE);
+        int option = Math.max(page, size);
+        if (option == -1) {
+            return -1;
+        }
+        int end = option + (option == page ? PAGE : SIZE).length();
+        boolean isStart = option == 0 || text.charAt(option - 1) == ' ';
+        boolean isEnd = end == text.length() || text.charAt(end) == ' ';
+        return isStart && isEnd ? option : -1;
+    }
+
+    private static int parsePositive(String text, String command) throws InvalidSyntaxException {
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= 1) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, like a number that is out of range.
+        }
+        throw new InvalidSyntaxException(command);
+    }
+
+    public String getArguments() {
+        return this.arguments;
+    }
+
+    public int getPage() {
+        return this.page == 0 ? 1 : this.page;
+    }
+
+    public int getPageSize() {
+        return this.pageSize;
+    }
+}
@@ -0,0 +1,32 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for the time taken to recognise a command and copy out its arguments.
+ */
+@Name("hyperion.Parse")
+@Label("Parse Command")
+@Category("Hyperion")
+@Description("Recognising the command in the user's input")
+class ParseEvent extends jdk.jfr.Event {
+    @Label("Command")
+    @Description("The command recognised, or null if the input is not a command")
+    String command;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param cmd the command recognised, or null if there is none
+     */
+    void finish(Commands cmd) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.command = cmd == null ? null : cmd.getValue();
+            this.commit();
+        }
+    }
+}
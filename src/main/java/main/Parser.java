@@ -1,14 +1,23 @@
 package main;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import command.AddDeadlineCommand;
 import command.AddEventCommand;
 import command.AddTodoCommand;
+import command.BetweenCommand;
 import command.ByeCommand;
+import command.Command;
 import command.DeleteCommand;
 import command.FindCommand;
 import command.ListCommand;
 import command.MarkCommand;
+import command.MoreCommand;
+import command.RedoCommand;
 import command.SortCommand;
+import command.StatsCommand;
+import command.UndoCommand;
 import command.UnmarkCommand;
 import exception.CommandFoundButInvalidException;
 import exception.CommandNotFoundException;
@@ -17,77 +26,201 @@ import exception.EmptyStringException;
 /**
  * Parses user input commands and performs corresponding actions on tasks
  * Handles command recognition, validation, and execution, interacting with
- * {@code TaskList}, {@code Storage}, and {@code Ui} components
+ * {@code TaskList}, {@code Storage}, and {@code Ui} components.
+ * A {@code Parser} holds no state about the input, so one instance can run every command of a session.
+ * It only remembers the tasks listed last, so that {@code more} can show the next page of them.
+ * If statistics are collected, each command is timed while it is parsed, executed and persisted.
+ * Parsing and executing each command are also recorded as Java Flight Recorder events.
  */
 public class Parser {
-    private String command;
-    private String remainder;
-    private TaskList allTasks;
-    private String description;
-    private Storage storage;
-    private Ui ui;
+    private final TaskList allTasks;
+    private final Storage storage;
+    private final Ui ui;
+    private final ResultPager pager;
+    private final Metrics metrics;
+    private boolean isExited;
+
     /**
-     * Constructs a {@code Parser} instance which processes a given input String and performs
-     * an action depending on the first word (command)
+     * Constructs a {@code Parser} instance which performs commands on the given tasks
      *
-     * @param input the user input string containing the command and remaining arguments
      * @param allTasks the {@code TaskList} instance where Tasks are stored and managed
      * @param s the {@code Storage} instance used for saving that state of tasks
      * @param ui the {@code Ui} instance for user interface
-     * @throws EmptyStringException if the input String is empty
-     * @throws CommandNotFoundException if the command is not recognized
-     * @throws CommandFoundButInvalidException if the command is recognized but the remaining string
-     *         are of invalid syntax
      */
-    public Parser(String input, TaskList allTasks, Storage s, Ui ui) throws EmptyStringException {
+    public Parser(TaskList allTasks, Storage s, Ui ui) {
+        this(allTasks, s, ui, Metrics.DISABLED);
+    }
+
+    /**
+     * Constructs a {@code Parser} instance which performs commands on the given tasks and times them
+     *
+     * @param allTasks the {@code TaskList} instance where Tasks are stored and managed
+     * @param s the {@code Storage} instance used for saving that state of tasks
+     * @param ui the {@code Ui} instance for user interface
+     * @param metrics the {@code Metrics} the commands are timed in, and shown by {@code stats}
+     */
+    public Parser(TaskList allTasks, Storage s, Ui ui, Metrics metrics) {
         this.allTasks = allTasks;
         this.ui = ui;
         this.storage = s;
-        if (input.isEmpty()) {
-            throw new EmptyStringException();
-        }
-        if (input.split(" ", 2).length == 1) {
-            this.command = input.split(" ", 2)[0].trim();
-            this.remainder = "";
-        }
-        if (input.split(" ", 2).length == 2) {
-            this.command = input.split(" ", 2)[0].trim();
-            this.remainder = input.split(" ", 2)[1].trim();
-        }
+        this.pager = new ResultPager();
+        this.metrics = metrics;
     }
 
     /**
-     * Returns a string of the command performed. Otherwise, it throws an exception.
+     * Performs an action depending on the first word (command) of the input and returns a string of
+     * the command performed. Otherwise, it throws an exception.
      *
+     * @param input the user input string containing the command and remaining arguments
      * @return a String that corresponds to the success message of the command executed
+     * @throws EmptyStringException if the input String is empty
      * @throws CommandNotFoundException if the Command is not recognized
      * @throws CommandFoundButInvalidException if the Command is recognized but syntax is invalid
      */
-    public String run() throws CommandNotFoundException, CommandFoundButInvalidException {
-        Commands cmd = Commands.fromString(command);
+    public String run(String input) throws EmptyStringException, CommandNotFoundException,
+            CommandFoundButInvalidException {
+        StringBuilder response = new StringBuilder();
+        try {
+            this.run(input, response);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Performs an action depending on the first word (command) of the input and writes the success message
+     * of the command performed to the sink as it is produced, so that a long list of tasks is never held
+     * as a single String. Nothing is written if the input is invalid.
+     *
+     * @param input the user input string containing the command and remaining arguments
+     * @param out the sink the success message of the command executed is written to
+     * @throws EmptyStringException if the input String is empty
+     * @throws CommandNotFoundException if the Command is not recognized
+     * @throws CommandFoundButInvalidException if the Command is recognized but syntax is invalid
+     * @throws IOException if the message could not be written
+     */
+    public void run(String input, Appendable out) throws EmptyStringException, CommandNotFoundException,
+            CommandFoundButInvalidException, IOException {
+        boolean isTimed = this.metrics.isEnabled();
+        long start = isTimed ? System.nanoTime() : 0;
+        ParseEvent parseEvent = new ParseEvent();
+        parseEvent.begin();
+        this.isExited = false;
+        Commands cmd = null;
+        Command command;
+        try {
+            cmd = commandOf(input);
+            command = this.create(cmd, input);
+        } finally {
+            parseEvent.finish(cmd);
+        }
+        long parsed = isTimed ? System.nanoTime() : 0;
+        long persistedBefore = isTimed ? this.storage.getPersistNanos() : 0;
+        CommandEvent commandEvent = new CommandEvent();
+        commandEvent.begin();
+        boolean isSuccessful = false;
+        try {
+            command.execute(this.allTasks, this.ui, this.storage, out);
+            isSuccessful = true;
+            this.isExited = command instanceof ByeCommand;
+        } finally {
+            commandEvent.finish(cmd, this.allTasks, isSuccessful);
+            if (isTimed) {
+                long persisted = this.storage.getPersistNanos() - persistedBefore;
+                this.metrics.record(cmd, parsed - start, System.nanoTime() - parsed - persisted, persisted);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the last input was a {@code bye} command that completed, after which the session ends.
+     * The command is recognised however it is written, e.g. {@code Bye} or {@code BYE}.
+     *
+     * @return true if the last input ended the session
+     */
+    public boolean isExited() {
+        return this.isExited;
+    }
+
+    /**
+     * Returns the command named by the first word of the input, which is matched in place.
+     */
+    private static Commands commandOf(String input) throws EmptyStringException, CommandNotFoundException {
+        if (input.isEmpty()) {
+            throw new EmptyStringException();
+        }
+        int separator = input.indexOf(' ');
+        int commandEnd = separator == -1 ? input.length() : separator;
+        int commandStart = skipWhitespace(input, 0, commandEnd);
+        commandEnd = skipTrailingWhitespace(input, commandStart, commandEnd);
+        Commands cmd = Commands.lookup(input, commandStart, commandEnd);
+        if (cmd == null) {
+            throw new CommandNotFoundException(input.substring(commandStart, commandEnd));
+        }
+        return cmd;
+    }
+
+    /**
+     * Returns the given command holding the remaining arguments of the input, which are the only part
+     * of the input that is copied.
+     */
+    private Command create(Commands cmd, String input) throws CommandNotFoundException {
+        int separator = input.indexOf(' ');
+        String remainder = "";
+        if (separator != -1) {
+            int remainderStart = skipWhitespace(input, separator + 1, input.length());
+            remainder = input.substring(remainderStart,
+                    skipTrailingWhitespace(input, remainderStart, input.length()));
+        }
         switch(cmd) {
         case TODO:
-            return new AddTodoCommand(remainder).execute(allTasks, ui, storage);
+            return new AddTodoCommand(remainder);
         case DEADLINE:
-            return new AddDeadlineCommand(remainder).execute(allTasks, ui, storage);
+            return new AddDeadlineCommand(remainder);
         case EVENT:
-            return new AddEventCommand(remainder).execute(allTasks, ui, storage);
+            return new AddEventCommand(remainder);
         case DELETE:
-            return new DeleteCommand(remainder).execute(allTasks, ui, storage);
+            return new DeleteCommand(remainder);
         case LIST:
-            return new ListCommand(remainder).execute(allTasks, ui, storage);
+            return new ListCommand(remainder, pager);
         case MARK:
-            return new MarkCommand(remainder).execute(allTasks, ui, storage);
+            return new MarkCommand(remainder);
         case UNMARK:
-            return new UnmarkCommand(remainder).execute(allTasks, ui, storage);
+            return new UnmarkCommand(remainder);
         case FIND:
-            return new FindCommand(remainder).execute(allTasks, ui, storage);
+            return new FindCommand(remainder, pager);
         case BYE:
-            return new ByeCommand().execute(allTasks, ui, storage);
+            return new ByeCommand();
         case SORT:
-            return new SortCommand(remainder).execute(allTasks, ui, storage);
+            return new SortCommand(remainder, pager);
+        case BETWEEN:
+            return new BetweenCommand(remainder, pager);
+        case UNDO:
+            return new UndoCommand(remainder);
+        case REDO:
+            return new RedoCommand(remainder);
+        case MORE:
+            return new MoreCommand(remainder, pager);
+        case STATS:
+            return new StatsCommand(remainder, metrics);
         default:
-            throw new CommandNotFoundException(command);
+            throw new CommandNotFoundException(cmd.getValue());
+        }
+    }
+
+    private static int skipWhitespace(String input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(String input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
         }
+        return end;
     }
 }
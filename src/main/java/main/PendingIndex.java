@@ -0,0 +1,51 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Stands in for an index of a {@code TaskList} while the index is built from a snapshot of the list,
+ * recording the changes made to the list in the meantime so that they can be applied to the index
+ * before it takes the place of this one.
+ */
+class PendingIndex implements TaskIndex {
+    private final List<TaskChange> changes = new ArrayList<>();
+
+    @Override
+    public void add(Task task) {
+        this.changes.add(new TaskChange(TaskChange.Kind.ADD, task));
+    }
+
+    @Override
+    public void remove(Task task) {
+        this.changes.add(new TaskChange(TaskChange.Kind.DELETE, task));
+    }
+
+    @Override
+    public void update(Task task) {
+        this.changes.add(new TaskChange(TaskChange.Kind.MARK, task));
+    }
+
+    /**
+     * Applies the recorded changes to the index, in the order they were made.
+     *
+     * @param index the index built from the snapshot taken when this one was registered
+     */
+    void applyTo(TaskIndex index) {
+        for (TaskChange change : this.changes) {
+            switch (change.getKind()) {
+            case ADD:
+                index.add(change.getTask());
+                break;
+            case DELETE:
+                index.remove(change.getTask());
+                break;
+            default:
+                index.update(change.getTask());
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import exception.CommandFoundButInvalidException;
+import task.Task;
+
+/**
+ * Shows lists of tasks one page at a time and remembers where the last list shown stopped, so that
+ * {@code more} can continue it. Each session has its own {@code ResultPager}.
+ * Every command picks its page and page size with a {@code PageRequest}; {@code more} keeps the page size.
+ * The task list itself is paged by position and only the tasks on the page are read, so the first page
+ * of even a very large list is shown straight away. The results of {@code sort} and {@code between} are
+ * paged as they were when the command ran. The matches of {@code find} are only checked as far as the page
+ * shown, among the tasks there were when it ran, so the total number of matches is not known until the last
+ * page has been shown.
+ * Pages are written to a sink row by row, or returned as a {@code String}.
+ */
+public class ResultPager {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String HEADER = "Here are the tasks in your list:";
+    private static final int ESTIMATED_ROW_LENGTH = 64;
+
+    private final int defaultPageSize;
+    private int pageSize;
+    private TaskList taskList;
+    private List<Task> results;
+    private Iterator<Task> pending;
+    private int next;
+
+    /**
+     * Constructs a {@code ResultPager} showing {@code DEFAULT_PAGE_SIZE} tasks per page unless asked otherwise.
+     */
+    public ResultPager() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructs a {@code ResultPager} showing the given number of tasks per page unless asked otherwise.
+     *
+     * @param defaultPageSize the number of tasks per page when a command does not give one
+     */
+    public ResultPager(int defaultPageSize) {
+        assert defaultPageSize > 0 : "a page must hold at least one task";
+        this.defaultPageSize = defaultPageSize;
+        this.pageSize = defaultPageSize;
+    }
+
+    /**
+     * Shows a page of the task list and continues from the end of it on {@code more}.
+     *
+     * @param taskList the tasks to be shown
+     * @param request the page to be shown
+     * @return the tasks on the page, numbered by their position in the list
+     * @throws CommandFoundButInvalidException if the list has no such page
+     */
+    public String showList(TaskList taskList, PageRequest request) throws CommandFoundButInvalidException {
+        StringBuilder out = new StringBuilder();
+        try {
+            this.showList(taskList, request, out);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a page of the task list to the sink and continues from the end of it on {@code more}.
+     *
+     * @param taskList the tasks to be shown
+     * @param request the page to be shown
+     * @param out the sink the tasks on the page are written to, numbered by their position in the list
+     * @throws CommandFoundButInvalidException if the list has no such page, in which case nothing is written
+     * @throws IOException if the page could not be written
+     */
+    public void showList(TaskList taskList, PageRequest request, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        int size = this.pageSizeOf(request);
+        long first = (long) (request.getPage() - 1) * size;
+        if (first > 0 && first >= taskList.getSize()) {
+            throw new CommandFoundButInvalidException(
+                    String.format("There is no page %d in your list", request.getPage()));
+        }
+        this.start(taskList, null, null, size);
+        this.showFrom((int) first, out);
+    }
+
+    /**
+     * Writes a heading and a page of the results of a command to the sink, and continues from the end
+     * of the page on {@code more}.
+     *
+     * @param heading the line written before the page
+     * @param results the tasks to be shown, which must not change afterwards
+     * @param request the page to be shown
+     * @param out the sink the tasks on the page are written to, numbered by their position in the results
+     * @throws CommandFoundButInvalidException if the results have no such page, in which case nothing is written
+     * @throws IOException if the page could not be written
+     */
+    public void showResults(String heading, List<Task> results, PageRequest request, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        this.show(heading, results, null, request, out);
+    }
+
+    /**
+     * Writes a heading and a page of the matches of a search to the sink, and continues from the end
+     * of the page on {@code more}. Only the matches up to the end of the page, and one more to tell
+     * whether there is another page, are taken from the stream; the rest are taken by {@code more}.
+     *
+     * @param heading the line written before the page
+     * @param matches the tasks to be shown, which must not depend on changes made to the list afterwards
+     * @param request the page to be shown
+     * @param out the sink the tasks on the page are written to, numbered by their position in the matches
+     * @throws CommandFoundButInvalidException if there is no such page, in which case nothing is written
+     * @throws IOException if the page could not be written
+     */
+    public void showMatches(String heading, Stream<Task> matches, PageRequest request, Appendable out)
+            throws CommandFoundButInvalidException, IOException {
+        this.show(heading, new ArrayList<>(), matches.iterator(), request, out);
+    }
+
+    private void show(String heading, List<Task> results, Iterator<Task> pending, PageRequest request,
+            Appendable out) throws CommandFoundButInvalidException, IOException {
+        int size = this.pageSizeOf(request);
+        long first = (long) (request.getPage() - 1) * size;
+        Iterator<Task> rest = pending;
+        if (first < Integer.MAX_VALUE - size) {
+            rest = fetch(results, pending, (int) first + size + 1);
+        }
+        if (first > 0 && first >= results.size()) {
+            throw new CommandFoundButInvalidException(
+                    String.format("There is no page %d in the results", request.getPage()));
+        }
+        this.start(null, results, rest, size);
+        out.append(heading).append('\n');
+        this.showFrom((int) first, out);
+    }
+
+    /**
+     * Shows the page after the one shown last.
+     *
+     * @return the tasks on the next page
+     * @throws CommandFoundButInvalidException if the last list shown has no more tasks
+     */
+    public String more() throws CommandFoundButInvalidException {
+        StringBuilder out = new StringBuilder();
+        try {
+            this.more(out);
+        } catch (IOException e) {
+            // A StringBuilder never fails to append.
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the page after the one shown last to the sink.
+     *
+     * @param out the sink the tasks on the next page are written to
+     * @throws CommandFoundButInvalidException if the last list shown has no more tasks, in which case
+     *         nothing is written
+     * @throws IOException if the page could not be written
+     */
+    public void more(Appendable out) throws CommandFoundButInvalidException, IOException {
+        if ((this.taskList == null && this.results == null) || !this.hasMoreFrom(this.next)) {
+            throw new CommandFoundButInvalidException("There is nothing more to show");
+        }
+        this.showFrom(this.next, out);
+    }
+
+    private int pageSizeOf(PageRequest request) {
+        return request.getPageSize() > 0 ? request.getPageSize() : this.defaultPageSize;
+    }
+
+    private void start(TaskList taskList, List<Task> results, Iterator<Task> pending, int pageSize) {
+        this.taskList = taskList;
+        this.results = results;
+        this.pending = pending;
+        this.pageSize = pageSize;
+        this.next = 0;
+    }
+
+    /**
+     * Takes matches from the stream until there are at least the given number of them or it runs out.
+     *
+     * @return the rest of the stream, or null if it ran out
+     */
+    private static Iterator<Task> fetch(List<Task> results, Iterator<Task> pending, int count) {
+        while (pending != null && results.size() < count) {
+            if (!pending.hasNext()) {
+                return null;
+            }
+            results.add(pending.next());
+        }
+        return pending;
+    }
+
+    private boolean hasMoreFrom(int index) {
+        if (this.taskList != null) {
+            return index < this.taskList.getSize();
+        }
+        this.pending = fetch(this.results, this.pending, index + 1);
+        return index < this.results.size();
+    }
+
+    private void showFrom(int first, Appendable out) throws IOException {
+        List<Task> page;
+        int total;
+        if (this.taskList != null) {
+            total = this.taskList.getSize();
+            page = this.taskList.getPage(first, first + this.pageSize);
+        } else {
+            this.pending = fetch(this.results, this.pending, first + this.pageSize + 1);
+            total = this.pending == null ? this.results.size() : -1;
+            int available = this.results.size();
+            page = this.results.subList(Math.min(first, available), Math.min(first + this.pageSize, available));
+        }
+        this.next = first + page.size();
+        this.render(page, first, total, out);
+    }
+
+    /**
+     * Numbers the tasks on the page, one per line, and says how to see the rest if there is more.
+     * Each row is built in a buffer that is reused for the whole page and written to the sink on its own.
+     * A total of -1 means that there are more matches than have been taken so far.
+     */
+    private void render(List<Task> page, int first, int total, Appendable out) throws IOException {
+        out.append(HEADER);
+        StringBuilder row = new StringBuilder(ESTIMATED_ROW_LENGTH);
+        for (int i = 0; i < page.size(); i++) {
+            row.setLength(0);
+            row.append('\n').append(first + i + 1).append(". ").append(page.get(i));
+            out.append(row);
+        }
+        int last = first + page.size();
+        if (total == -1) {
+            out.append(String.format("\nShowing tasks %d-%d, enter more to see the next ones", first + 1, last));
+        } else if (last < total) {
+            out.append(String.format("\nShowing tasks %d-%d of %d, enter more to see the next %d",
+                    first + 1, last, total, Math.min(this.pageSize, total - last)));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a single write of the tasks, either appending changes to the journal
+ * or replacing the data file with a snapshot. Writes are recorded on the thread doing them, which is the
+ * thread running the command unless the write is delayed or is a background compaction.
+ */
+@Name("hyperion.Save")
+@Label("Save Tasks")
+@Category("Hyperion")
+@Description("Appending changes to the journal or writing a snapshot of the tasks")
+class SaveEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    @Description("What was written: journal or snapshot")
+    String kind;
+
+    @Label("Tasks")
+    @Description("The number of tasks in the list, or in the snapshot")
+    int tasks;
+
+    @Label("Changes")
+    @Description("The number of changes appended to the journal")
+    int changes;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+}
@@ -0,0 +1,211 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import task.Task;
+
+/**
+ * An inverted index from every 3-character substring (trigram) of the text of a task to the
+ * tasks containing it. A substring query only has to check the tasks that contain all of its
+ * trigrams, instead of every task in the list.
+ * Each trigram keeps the ids of its tasks in a sorted array rather than a set of tasks, which takes
+ * 8 bytes per entry and lets the postings of a query be intersected by binary search.
+ * Tasks are kept by id, so an index built from a snapshot of a memory-mapped list, which may hold
+ * other copies of the same tasks, is kept up to date with the tasks of the list itself.
+ */
+public class SearchIndex implements TaskIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Posting> postings;
+    private final Map<Long, Task> tasks;
+    private final Map<Long, String> texts;
+
+    /**
+     * The ids of the tasks containing a trigram, in ascending order.
+     * Ids are handed out in increasing order, so adding a new task appends to the array.
+     */
+    private static class Posting {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+            this.ids[index] = id;
+            this.size++;
+        }
+
+        private void remove(long id) {
+            int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            this.size--;
+        }
+    }
+
+    /**
+     * Constructs a {@code SearchIndex} over the given tasks, in list order.
+     *
+     * @param tasks the tasks to be indexed
+     */
+    public SearchIndex(List<Task> tasks) {
+        this.postings = new HashMap<>();
+        this.tasks = new HashMap<>();
+        this.texts = new HashMap<>();
+        for (Task task : tasks) {
+            this.add(task);
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        String text = task.toString();
+        this.tasks.put(task.getId(), task);
+        this.texts.put(task.getId(), text);
+        this.addGrams(task.getId(), text, "");
+    }
+
+    @Override
+    public void remove(Task task) {
+        Task indexed = this.tasks.remove(task.getId());
+        if (indexed != null) {
+            this.removeGrams(task.getId(), this.texts.remove(task.getId()), "");
+        }
+    }
+
+    /**
+     * Updates the text of a task, only touching the trigrams that were added or removed by the change.
+     */
+    @Override
+    public void update(Task task) {
+        String oldText = this.texts.get(task.getId());
+        if (oldText == null) {
+            return;
+        }
+        String text = task.toString();
+        this.tasks.put(task.getId(), task);
+        this.texts.put(task.getId(), text);
+        this.removeGrams(task.getId(), oldText, text);
+        this.addGrams(task.getId(), text, oldText);
+    }
+
+    /**
+     * Returns the tasks whose text contains the query, in list order.
+     *
+     * @param query the substring to be searched for, at least {@code GRAM_LENGTH} characters long
+     * @return the matching tasks
+     */
+    public List<Task> find(String query) {
+        List<Task> result = new ArrayList<>();
+        for (Task task : this.candidates(query)) {
+            if (this.texts.get(task.getId()).contains(query)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tasks that contain every trigram of the query, which include every task containing the query.
+     * The postings of the trigrams are intersected from the smallest one up, stopping as soon as nothing is left.
+     * The tasks are copied out of the index, so they can be checked against the query after the index has changed.
+     *
+     * @param query the substring to be searched for, at least {@code GRAM_LENGTH} characters long
+     * @return the candidate tasks, in list order
+     */
+    public List<Task> candidates(String query) {
+        assert query.length() >= GRAM_LENGTH : "query must be at least as long as a gram";
+        Posting[] grams = new Posting[query.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = this.postings.get(gram(query, i));
+            if (grams[i] == null) {
+                return List.of();
+            }
+        }
+        Arrays.sort(grams, Comparator.comparingInt((Posting posting) -> posting.size));
+
+        long[] ids = Arrays.copyOf(grams[0].ids, grams[0].size);
+        int count = ids.length;
+        for (int i = 1; i < grams.length && count > 0; i++) {
+            if (grams[i] != grams[i - 1]) {
+                count = retainAll(ids, count, grams[i]);
+            }
+        }
+        List<Task> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(this.tasks.get(ids[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the first {@code count} ids that are also in the posting, in order, at the start of the array.
+     *
+     * @return the number of ids kept
+     */
+    private static int retainAll(long[] ids, int count, Posting posting) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < posting.size; i++) {
+            int index = Arrays.binarySearch(posting.ids, from, posting.size, ids[i]);
+            if (index >= 0) {
+                ids[kept++] = ids[i];
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Adds the id to the postings of the trigrams of the text that are not in the other text.
+     */
+    private void addGrams(long id, String text, String otherText) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            if (!otherText.contains(text.substring(i, i + GRAM_LENGTH))) {
+                this.postings.computeIfAbsent(gram(text, i), key -> new Posting()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes the id from the postings of the trigrams of the text that are not in the other text.
+     */
+    private void removeGrams(long id, String text, String otherText) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            if (otherText.contains(text.substring(i, i + GRAM_LENGTH))) {
+                continue;
+            }
+            Long key = gram(text, i);
+            Posting posting = this.postings.get(key);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.size == 0) {
+                    this.postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs the characters of the trigram starting at the given position into a single key.
+     */
+    private static Long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
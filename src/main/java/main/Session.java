@@ -0,0 +1,218 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * The state of one client connected to a {@code HyperionServer}: the line being received, the lines waiting
+ * to be run and the responses waiting to be sent.
+ * A session runs one command at a time, in the order the lines were received. It stops reading from the
+ * client while too many lines or too many bytes of responses are waiting, so that a client sending
+ * faster than it reads is slowed down by TCP instead of filling the server's memory.
+ * The selector thread and the worker running the session's command share the state under the session's lock.
+ */
+class Session {
+    private static final int MAX_LINE_LENGTH = 1 << 16;
+    private static final int MAX_PENDING_LINES = 64;
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+    private static final String END_OF_RESPONSE = "\n\n";
+
+    private final SocketChannel channel;
+    private final ArrayDeque<String> lines;
+    private final ArrayDeque<ByteBuffer> responses;
+    private byte[] partial;
+    private int partialLength;
+    private long pendingBytes;
+    private boolean isRunning;
+    private boolean isClosing;
+    private boolean isInputEnded;
+    private Hyperion user;
+    private Parser parser;
+
+    /**
+     * Constructs a {@code Session} for a client that has just connected.
+     *
+     * @param channel the connection to the client, in non-blocking mode
+     */
+    Session(SocketChannel channel) {
+        this.channel = channel;
+        this.lines = new ArrayDeque<>();
+        this.responses = new ArrayDeque<>();
+        this.partial = new byte[256];
+        this.partialLength = 0;
+        this.pendingBytes = 0;
+        this.isRunning = false;
+        this.isClosing = false;
+        this.isInputEnded = false;
+    }
+
+    /**
+     * Splits the bytes received into lines, keeping the last line until its end is received.
+     *
+     * @param in the bytes received
+     * @return false if a line is longer than allowed, in which case the rest of the input is ignored
+     */
+    synchronized boolean receive(ByteBuffer in) {
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') {
+                this.endLine();
+                continue;
+            }
+            if (this.partialLength == MAX_LINE_LENGTH) {
+                return false;
+            }
+            if (this.partialLength == this.partial.length) {
+                this.partial = Arrays.copyOf(this.partial, Math.min(this.partial.length * 2, MAX_LINE_LENGTH));
+            }
+            this.partial[this.partialLength++] = b;
+        }
+        return true;
+    }
+
+    /**
+     * Takes note that the client will not send anything more. The lines already received, including a last
+     * line without a line break, are still run and answered before the session is finished.
+     */
+    synchronized void endInput() {
+        if (this.partialLength > 0) {
+            this.endLine();
+        }
+        this.isInputEnded = true;
+    }
+
+    /**
+     * Returns the next line to run, unless a command of the session is still running.
+     *
+     * @return the next line, or null if there is none or the session is busy or closing
+     */
+    synchronized String nextLine() {
+        if (this.isRunning || this.isClosing || this.lines.isEmpty()) {
+            return null;
+        }
+        this.isRunning = true;
+        return this.lines.poll();
+    }
+
+    /**
+     * Queues the response to the line that was running, followed by an empty line that marks its end.
+     *
+     * @param response the response to the line
+     * @param isLast whether the session is to be closed once the response is sent
+     */
+    synchronized void send(CharSequence response, boolean isLast) {
+        this.isRunning = false;
+        this.queue(response);
+        if (isLast) {
+            this.close();
+        }
+    }
+
+    /**
+     * Queues a last message and closes the session once it is sent, without running the lines waiting.
+     *
+     * @param message the message to the client
+     */
+    synchronized void reject(String message) {
+        this.queue(message);
+        this.close();
+    }
+
+    /**
+     * Writes as much of the queued responses as the connection accepts without blocking.
+     *
+     * @throws IOException if the connection is broken
+     */
+    synchronized void flush() throws IOException {
+        while (!this.responses.isEmpty()) {
+            ByteBuffer response = this.responses.peek();
+            this.pendingBytes -= this.channel.write(response);
+            if (response.hasRemaining()) {
+                return;
+            }
+            this.responses.poll();
+        }
+    }
+
+    /**
+     * Returns the operations the selector should wait for: writing while responses are queued, and reading
+     * while the session is open and not too far behind.
+     *
+     * @return the interest set of the session's {@code SelectionKey}
+     */
+    synchronized int interestOps() {
+        int ops = this.responses.isEmpty() ? 0 : SelectionKey.OP_WRITE;
+        if (!this.isClosing && !this.isInputEnded && this.lines.size() < MAX_PENDING_LINES
+                && this.pendingBytes < MAX_PENDING_BYTES) {
+            ops |= SelectionKey.OP_READ;
+        }
+        return ops;
+    }
+
+    /**
+     * Returns whether the session is closing, or has run every line the client sent, and has nothing left to send.
+     *
+     * @return true if the connection can be closed
+     */
+    synchronized boolean isFinished() {
+        return (this.isClosing || (this.isInputEnded && this.lines.isEmpty()))
+                && !this.isRunning && this.responses.isEmpty();
+    }
+
+    /**
+     * Returns whether the client has said who they are.
+     *
+     * @return true if commands are run on the tasks of a user
+     */
+    synchronized boolean isLoggedIn() {
+        return this.parser != null;
+    }
+
+    /**
+     * Runs commands of the session on the tasks of the given user from now on.
+     *
+     * @param user the tasks of the user, which are shared by every session of the user
+     */
+    synchronized void logIn(Hyperion user) {
+        this.user = user;
+        this.parser = user.openSession();
+    }
+
+    synchronized Hyperion getUser() {
+        return this.user;
+    }
+
+    synchronized Parser getParser() {
+        return this.parser;
+    }
+
+    SocketChannel getChannel() {
+        return this.channel;
+    }
+
+    private void endLine() {
+        int length = this.partialLength;
+        if (length > 0 && this.partial[length - 1] == '\r') {
+            length--;
+        }
+        this.lines.add(new String(this.partial, 0, length, StandardCharsets.UTF_8));
+        this.partialLength = 0;
+    }
+
+    private void queue(CharSequence message) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(message + END_OF_RESPONSE));
+        this.responses.add(bytes);
+        this.pendingBytes += bytes.remaining();
+    }
+
+    private void close() {
+        this.isClosing = true;
+        this.lines.clear();
+    }
+}
@@ -0,0 +1,30 @@
+package main;
+
+/**
+ * The values a snapshot records besides its tasks: the last journal generation it contains, and the id
+ * the next new task is given. The next id is kept because it can be higher than the id after the last
+ * task, when the newest tasks were deleted, and their ids must not be given out again.
+ */
+public class SnapshotHeader {
+    private final long generation;
+    private final long nextId;
+
+    /**
+     * Constructs a {@code SnapshotHeader} with the given values.
+     *
+     * @param generation the last journal generation contained in the snapshot, or 0 if there is none
+     * @param nextId the id the next new task is given, or 0 if it follows from the last task
+     */
+    public SnapshotHeader(long generation, long nextId) {
+        this.generation = generation;
+        this.nextId = nextId;
+    }
+
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    public long getNextId() {
+        return this.nextId;
+    }
+}
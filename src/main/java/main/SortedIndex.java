@@ -0,0 +1,115 @@
+package main;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+/**
+ * Keeps the tasks ordered as {@code TaskComparator} would sort them: to-dos by description,
+ * deadlines by deadline and events by start time, with ties kept in list order, which is the order of the ids.
+ * Sorting the whole list becomes a concatenation of the three views, and a range query on
+ * deadlines only visits the deadlines in the range.
+ */
+public class SortedIndex implements TaskIndex {
+    private final TreeMap<Key<String>, Task> todos;
+    private final TreeMap<Key<LocalDateTime>, Task> deadlines;
+    private final TreeMap<Key<LocalDateTime>, Task> events;
+
+    /**
+     * Orders tasks by a primary value and then by their id.
+     */
+    private static class Key<T extends Comparable<? super T>> implements Comparable<Key<T>> {
+        private final T value;
+        private final long id;
+
+        private Key(T value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key<T> other) {
+            int result = this.value.compareTo(other.value);
+            return result != 0 ? result : Long.compare(this.id, other.id);
+        }
+    }
+
+    /**
+     * Constructs a {@code SortedIndex} over the given tasks, in list order.
+     *
+     * @param tasks the tasks to be indexed
+     */
+    public SortedIndex(List<Task> tasks) {
+        this.todos = new TreeMap<>();
+        this.deadlines = new TreeMap<>();
+        this.events = new TreeMap<>();
+        for (Task task : tasks) {
+            this.add(task);
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof Deadlines) {
+            this.deadlines.put(new Key<>(((Deadlines) task).getDeadline(), task.getId()), task);
+        } else if (task instanceof Events) {
+            this.events.put(new Key<>(((Events) task).getStart(), task.getId()), task);
+        } else if (task instanceof ToDos) {
+            this.todos.put(new Key<>(task.getDescription(), task.getId()), task);
+        }
+    }
+
+    /**
+     * Removes a task, finding it by its key since neither the id nor the values it is ordered by ever change.
+     */
+    @Override
+    public void remove(Task task) {
+        if (task instanceof Deadlines) {
+            this.deadlines.remove(new Key<>(((Deadlines) task).getDeadline(), task.getId()));
+        } else if (task instanceof Events) {
+            this.events.remove(new Key<>(((Events) task).getStart(), task.getId()));
+        } else if (task instanceof ToDos) {
+            this.todos.remove(new Key<>(task.getDescription(), task.getId()));
+        }
+    }
+
+    /**
+     * Replaces a task whose done status has changed, which keeps its place as the done status is not part of the
+     * order. The task replaced may be another copy of it, if the index was built from a snapshot of the list.
+     */
+    @Override
+    public void update(Task task) {
+        this.add(task);
+    }
+
+    /**
+     * Returns every task in the order of {@code TaskComparator}: to-dos, then deadlines, then events.
+     *
+     * @return the sorted tasks
+     */
+    public List<Task> sorted() {
+        List<Task> result = new ArrayList<>(this.todos.size() + this.deadlines.size() + this.events.size());
+        result.addAll(this.todos.values());
+        result.addAll(this.deadlines.values());
+        result.addAll(this.events.values());
+        return result;
+    }
+
+    /**
+     * Returns the deadlines due within the given range, ordered by deadline.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, inclusive
+     * @return the deadlines in the range
+     */
+    public List<Task> deadlinesBetween(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(this.deadlines.subMap(
+                new Key<>(from, Long.MIN_VALUE), true, new Key<>(to, Long.MAX_VALUE), true).values());
+    }
+}
@@ -1,29 +1,68 @@
 package main;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import exception.CommandFoundButInvalidException;
 import exception.InvalidSyntaxException;
-import task.Deadlines;
-import task.Events;
 import task.Task;
-import task.ToDos;
 
 
 /**
  * Handles the reading and writing of task data to and from a file.
- * Provides functionality to load tasks from a file and save tasks to a file
+ * Provides functionality to load tasks from a file and save tasks to a file, in either
+ * the text or the binary {@code StorageFormat}.
+ * In journaled mode, each change is appended to a {@code Journal} instead and the
+ * file is only rewritten by a periodic background compaction.
+ * With a write delay configured, saves are coalesced and done on a background thread
+ * at most once per delay.
+ * If the durability policy syncs at most once per interval, writes it did not sync are synced
+ * on the background thread once the interval is over, and by {@link #flush}.
+ * A save that fails on the background thread is reported by the next {@link #put} or {@link #flush},
+ * and the next save writes every task again, as the changes of the failed save are lost.
  */
 public class Storage {
+    private static final int COMPACTION_THRESHOLD = 1000;
+
     private String filePath;
     private File file;
+    private boolean isJournaled;
+    private DurabilityPolicy durabilityPolicy;
+    private StorageFormat format;
+    private boolean isLazy;
+    private int parallelThreshold;
+    private long writeDelayMillis;
+    private boolean isAutoSaved;
+    private Journal journal;
+    private ScheduledThreadPoolExecutor writer;
+    private ScheduledFuture<?> pendingWrite;
+    private ScheduledFuture<?> pendingSync;
+    private volatile boolean isSnapshotSynced;
+    private volatile boolean isSnapshotNeeded;
+    private final AtomicReference<Exception> failure;
+    private volatile Future<?> compaction;
+    private long nextId;
+    private final LongAdder persistNanos;
 
     /**
      * Constructs a {@code Storage} instance with the given filePath
@@ -32,9 +71,48 @@ public class Storage {
      *                 file is created if the file does not exist
      */
     public Storage(String filePath) {
+        this(filePath, new StorageConfig());
+    }
+
+    /**
+     * Constructs a {@code Storage} instance with the given filePath, optionally in journaled mode
+     *
+     * @param filePath the path to the file where data will be store. A new
+     *                 file is created if the file does not exist
+     * @param isJournaled whether changes are appended to a journal instead of rewriting the file
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, new StorageConfig().setJournaled(isJournaled));
+    }
+
+    /**
+     * Constructs a {@code Storage} instance with the given filePath and settings
+     *
+     * @param filePath the path to the file where data will be store. A new
+     *                 file is created if the file does not exist
+     * @param config the settings that decide how the tasks are persisted
+     */
+    public Storage(String filePath, StorageConfig config) {
         this.filePath = filePath;
+        this.isJournaled = config.isJournaled();
+        this.durabilityPolicy = config.getDurabilityPolicy().copy();
+        this.format = config.getFormat();
+        this.isLazy = config.isLazy();
+        this.parallelThreshold = config.getParallelThreshold();
+        this.writeDelayMillis = config.getWriteDelayMillis();
+        this.isAutoSaved = config.isAutoSaved();
+        this.persistNanos = new LongAdder();
+        this.isSnapshotSynced = true;
+        this.failure = new AtomicReference<>();
         file = new File(filePath);
         file.getParentFile().mkdirs();
+        this.journal = new Journal(file.toPath(), this.durabilityPolicy);
+        this.writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "storage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 
         try {
             if (!this.file.exists()) {
@@ -45,7 +123,10 @@ public class Storage {
         }
     }
     /**
-     * Loads tasks from a file and return a list of tasks
+     * Loads tasks from a file and return a list of tasks.
+     * Any journaled changes that are not yet part of the file are replayed on top of it.
+     * In lazy mode, a copy of a text file is memory-mapped and its tasks are only parsed when accessed.
+     * The id the next new task is to be given is read as well, and returned by {@link #getNextId}.
      *
      * @return a {@code List} of {@code Task} objects read from the file. If the
      *         file is empty, an empty {@code List} is returned
@@ -54,63 +135,348 @@ public class Storage {
      */
     public List<Task> load() throws CommandFoundButInvalidException {
         List<Task> allTasks = new ArrayList<>();
+        SnapshotHeader header = new SnapshotHeader(0, 0);
+        LoadEvent event = new LoadEvent();
+        event.begin();
 
-        if (!file.exists()) {
-            return allTasks;
+        if (file.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                StorageFormat detected = detectFormat(in);
+                if (this.isLazy && detected instanceof TextFormat && file.length() <= Integer.MAX_VALUE) {
+                    MappedTaskList mapped = this.mapCopy();
+                    allTasks = mapped;
+                    header = mapped.getHeader();
+                    event.format = "mapped";
+                } else {
+                    header = detected.read(in, allTasks);
+                    event.format = detected instanceof BinaryFormat ? "binary" : "text";
+                }
+            } catch (IOException e) {
+                throw new InvalidSyntaxException("something went wrong with load() method");
+            }
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                allTasks.add(parseTaskFromLine(line));
-            }
-        } catch (IOException e) {
-            throw new InvalidSyntaxException("something went wrong with load() method");
+        this.journal.replay(allTasks, header.getGeneration());
+        this.nextId = Math.max(header.getNextId(), this.journal.getHighestId() + 1);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = this.filePath;
+            event.tasks = allTasks.size();
+            event.bytesRead = this.file.length();
+            event.commit();
         }
         return allTasks;
     }
 
     /**
-     * Parses a single line from the file and returns the corresponding Task object
+     * Returns the id the next new task is to be given, as recorded by the last save before {@link #load}.
+     * It is higher than the id after the last task loaded if the newest tasks were deleted, so that their
+     * ids are not given out again.
      *
-     * @param line the line that needs to be parsed
-     * @return the corresponding Task object
-     * @throws CommandFoundButInvalidException if the file contains invalid syntax
-     */
-    private Task parseTaskFromLine(String line) throws CommandFoundButInvalidException {
-        String[] parts = line.split("\\| ");
-        Task currTask;
-        switch (parts[0].trim()) {
-        case "T":
-            currTask = new ToDos(parts[2]);
-            break;
-        case "D":
-            currTask = new Deadlines(parts[2]);
-            break;
-        case "E":
-            currTask = new Events(parts[2]);
-            break;
-        default:
-            throw new InvalidSyntaxException("File is corrupted");
-        }
-        if (Integer.parseInt(parts[1].trim()) == 1) {
-            currTask.markAsDone();
-        }
-        return currTask;
+     * @return the next id, or 1 if no id was given out yet
+     */
+    public long getNextId() {
+        return this.nextId;
     }
+
+    /**
+     * Memory-maps a copy of the data file rather than the file itself, as a mapped file cannot be replaced
+     * on some platforms, such as Windows, until it is unmapped, which only happens once the tasks that
+     * were not parsed yet are garbage collected. Copying the file is much cheaper than parsing it.
+     * The copy is deleted right away where a mapped file can be deleted, and otherwise on exit.
+     */
+    private MappedTaskList mapCopy() throws IOException, CommandFoundButInvalidException {
+        Path target = this.file.toPath();
+        Path copy = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName() + ".", ".mapped");
+        try {
+            Files.copy(target, copy, StandardCopyOption.REPLACE_EXISTING);
+            return MappedTaskList.map(copy);
+        } finally {
+            try {
+                Files.delete(copy);
+            } catch (IOException e) {
+                copy.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Returns the format of the data in the stream, regardless of the format used for writing,
+     * so that switching formats keeps existing data readable.
+     */
+    private StorageFormat detectFormat(InputStream in) throws IOException {
+        byte[] magic = new byte[BinaryFormat.MAGIC.length];
+        in.mark(magic.length);
+        int length = in.readNBytes(magic, 0, magic.length);
+        in.reset();
+        return length == magic.length && Arrays.equals(magic, BinaryFormat.MAGIC)
+                ? new BinaryFormat()
+                : new TextFormat(this.parallelThreshold);
+    }
+
     /**
      * Saves tasks from the provided {@code TaskList} instance to the file.
-     * The file content will be overwritten with the current tasks
+     * The file content will be replaced atomically with the current tasks, unless the storage is
+     * journaled, in which case only the changes since the last save are appended.
+     * If a write delay is configured, this only marks the tasks as dirty and the save happens
+     * on a background thread, together with every other change made within the delay.
+     * If auto-saving is turned off, this does nothing and the changes wait for {@link #flush}.
      *
      * @param taskList a {@code TaskList} instance containing tasks to be saved
+     * @throws CommandFoundButInvalidException if this or an earlier save on the background thread failed
+     */
+    public void put(TaskList taskList) throws CommandFoundButInvalidException {
+        if (!this.isAutoSaved) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (this.writeDelayMillis <= 0) {
+            this.write(taskList, true);
+            this.persistNanos.add(System.nanoTime() - start);
+            this.checkFailure();
+            return;
+        }
+        synchronized (this) {
+            if (this.pendingWrite == null) {
+                this.pendingWrite = this.writer.schedule(() -> {
+                    synchronized (this) {
+                        this.pendingWrite = null;
+                    }
+                    this.write(taskList, false);
+                }, this.writeDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        this.persistNanos.add(System.nanoTime() - start);
+        this.checkFailure();
+    }
+
+    /**
+     * Blocks until every change made to the {@code TaskList} so far, including any background
+     * compaction already started, has been written, and synced to disk unless the durability
+     * policy never syncs.
+     *
+     * @param taskList the {@code TaskList} whose changes are to be written
+     * @throws CommandFoundButInvalidException if the changes, or earlier changes saved in the background,
+     *         could not be written
      */
-    public void put(TaskList taskList) {
+    public void flush(TaskList taskList) throws CommandFoundButInvalidException {
+        long start = System.nanoTime();
         try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(this.file));
-            bw.append(taskList.toMemoryString());
-            bw.close();
+            this.writer.submit(() -> this.write(taskList, false)).get();
+            Future<?> lastCompaction = this.compaction;
+            if (lastCompaction != null) {
+                lastCompaction.get();
+            }
+            this.writer.submit(this::syncPending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            this.recordFailure(e);
+        } finally {
+            this.persistNanos.add(System.nanoTime() - start);
+        }
+        this.checkFailure();
+    }
+
+    /**
+     * Stops the background thread once the saves it has already started are done. Saves that are still
+     * waiting for the write delay or the sync interval are dropped, so {@link #flush} must be called first
+     * for every change to be kept.
+     */
+    public void close() {
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records a failed save, keeping the first one until it is reported. Every task is written
+     * by the next save, so that the changes of the failed save are not lost.
+     */
+    private void recordFailure(Exception e) {
+        this.isSnapshotNeeded = true;
+        this.failure.compareAndSet(null, e);
+    }
+
+    /**
+     * Reports the first save that failed since the last report.
+     */
+    private void checkFailure() throws CommandFoundButInvalidException {
+        Exception e = this.failure.getAndSet(null);
+        if (e != null) {
+            throw new CommandFoundButInvalidException("An error occurred when saving: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the total time callers have spent in {@link #put} and {@link #flush}, so that the time
+     * a command spent persisting its changes can be told apart from the rest of its work.
+     *
+     * @return the time spent persisting, in nanoseconds
+     */
+    long getPersistNanos() {
+        return this.persistNanos.sum();
+    }
+
+    /**
+     * Writes the changes of the {@code TaskList}. The changes and, if needed, a copy of the tasks
+     * are taken together so that a snapshot never contains a change that is still to be journaled.
+     *
+     * @param isForced whether to write even if nothing has changed since the last write
+     */
+    private void write(TaskList taskList, boolean isForced) {
+        List<TaskChange> changes;
+        List<Task> tasks = null;
+        long nextId;
+        boolean isSnapshotNeeded = this.isSnapshotNeeded;
+        synchronized (taskList) {
+            nextId = taskList.getNextId();
+            changes = taskList.drainChanges();
+            if (changes.isEmpty() && !isForced && !isSnapshotNeeded) {
+                return;
+            }
+            if (!this.isJournaled || isSnapshotNeeded
+                    || this.journal.getRecordCount() + changes.size() >= COMPACTION_THRESHOLD) {
+                tasks = taskList.snapshot();
+            }
+        }
+        try {
+            if (this.isJournaled) {
+                SaveEvent event = new SaveEvent();
+                event.begin();
+                long bytesWritten = this.journal.append(changes);
+                if (!this.journal.isSynced()) {
+                    this.scheduleSync();
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.kind = "journal";
+                    event.tasks = taskList.getSize();
+                    event.changes = changes.size();
+                    event.bytesWritten = bytesWritten;
+                    event.commit();
+                }
+                if (tasks != null) {
+                    this.compact(tasks, nextId);
+                }
+                return;
+            }
+            this.isSnapshotNeeded = false;
+            if (this.journal.hasSegments()) {
+                long generation = this.journal.rotate();
+                this.writeSnapshot(tasks, new SnapshotHeader(generation, nextId));
+                this.journal.deleteUpTo(generation);
+                return;
+            }
+            this.writeSnapshot(tasks, new SnapshotHeader(0, nextId));
+        } catch (IOException e) {
+            this.recordFailure(e);
+        }
+    }
+
+    /**
+     * Syncs the writes the durability policy skipped once its interval is over, unless a sync is already scheduled.
+     * Policies that sync every write or never sync leave nothing to be synced later.
+     */
+    private void scheduleSync() {
+        if (this.durabilityPolicy.getMode() != DurabilityPolicy.Mode.INTERVAL) {
+            return;
+        }
+        synchronized (this) {
+            if (this.pendingSync == null) {
+                this.pendingSync = this.writer.schedule(() -> {
+                    synchronized (this) {
+                        this.pendingSync = null;
+                    }
+                    this.syncPending();
+                }, this.durabilityPolicy.getIntervalMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Forces the journal and the last snapshot to disk if their last write was not synced.
+     */
+    private void syncPending() {
+        try {
+            this.journal.sync();
+            if (!this.isSnapshotSynced) {
+                this.isSnapshotSynced = true;
+                Path target = this.file.toPath();
+                try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    this.durabilityPolicy.syncNow(channel);
+                }
+                this.durabilityPolicy.syncDirectory(target.toAbsolutePath().getParent());
+            }
         } catch (IOException e) {
-            System.out.println("An error occurred when saving");
+            this.recordFailure(e);
+        }
+    }
+
+    /**
+     * Starts writing a snapshot of the tasks in the background, unless one is already being written.
+     * New changes go to a fresh journal segment, so the segments covered by the snapshot can be
+     * dropped once the snapshot is in place.
+     */
+    private void compact(List<Task> tasks, long nextId) throws IOException {
+        if (this.compaction != null && !this.compaction.isDone()) {
+            return;
+        }
+        this.isSnapshotNeeded = false;
+        long generation = this.journal.rotate();
+        this.compaction = this.writer.submit(() -> {
+            try {
+                this.writeSnapshot(tasks, new SnapshotHeader(generation, nextId));
+                this.journal.deleteUpTo(generation);
+            } catch (IOException e) {
+                this.recordFailure(e);
+            }
+        });
+    }
+
+    /**
+     * Writes the tasks to a temporary file and then atomically renames it over the data file, so a
+     * crash leaves either the old or the new file in place but never a truncated one.
+     * The snapshot is written in the configured format, with the next id and, if it replaces journal
+     * segments, the last generation it contains in its header.
+     */
+    private void writeSnapshot(List<Task> tasks, SnapshotHeader header) throws IOException {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        Path target = this.file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        boolean isSynced;
+        long bytesWritten;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            this.format.write(Channels.newOutputStream(channel), tasks, header);
+            isSynced = this.durabilityPolicy.sync(channel);
+            bytesWritten = channel.size();
         }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isSynced) {
+            this.durabilityPolicy.syncDirectory(target.toAbsolutePath().getParent());
+        } else if (this.durabilityPolicy.getMode() == DurabilityPolicy.Mode.INTERVAL) {
+            this.isSnapshotSynced = false;
+            this.scheduleSync();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "snapshot";
+            event.tasks = tasks.size();
+            event.bytesWritten = bytesWritten;
+            event.commit();
+        }
+    }
+
+    public DurabilityPolicy getDurabilityPolicy() {
+        return this.durabilityPolicy;
     }
 }
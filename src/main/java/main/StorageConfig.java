@@ -0,0 +1,112 @@
+package main;
+
+/**
+ * Holds the settings that decide how {@code Storage} persists tasks.
+ * The defaults keep the original behaviour of rewriting the data file on every change.
+ */
+public class StorageConfig {
+    private boolean isJournaled;
+    private DurabilityPolicy durabilityPolicy;
+    private long writeDelayMillis;
+    private StorageFormat format;
+    private boolean isLazy;
+    private int parallelThreshold;
+    private boolean isAutoSaved;
+
+    /**
+     * Constructs a {@code StorageConfig} with the default settings.
+     */
+    public StorageConfig() {
+        this.isJournaled = false;
+        this.durabilityPolicy = DurabilityPolicy.never();
+        this.writeDelayMillis = 0;
+        this.format = new TextFormat();
+        this.isLazy = false;
+        this.parallelThreshold = TextFormat.DEFAULT_PARALLEL_THRESHOLD;
+        this.isAutoSaved = true;
+    }
+
+    /**
+     * Returns the settings given as {@code hyperion.*} system properties, e.g.
+     * {@code -Dhyperion.journal=true -Dhyperion.fsync=always -Dhyperion.writeDelay=50 -Dhyperion.lazy=true}.
+     *
+     * @return the settings read from the system properties
+     */
+    public static StorageConfig fromSystemProperties() {
+        return new StorageConfig()
+                .setJournaled(Boolean.getBoolean("hyperion.journal"))
+                .setDurabilityPolicy(DurabilityPolicy.fromString(System.getProperty("hyperion.fsync")))
+                .setWriteDelayMillis(Long.getLong("hyperion.writeDelay", 0))
+                .setFormat(StorageFormat.fromString(System.getProperty("hyperion.format")))
+                .setLazy(Boolean.getBoolean("hyperion.lazy"))
+                .setParallelThreshold(Integer.getInteger("hyperion.parallelThreshold",
+                        TextFormat.DEFAULT_PARALLEL_THRESHOLD));
+    }
+
+    public boolean isJournaled() {
+        return this.isJournaled;
+    }
+
+    public StorageConfig setJournaled(boolean isJournaled) {
+        this.isJournaled = isJournaled;
+        return this;
+    }
+
+    public DurabilityPolicy getDurabilityPolicy() {
+        return this.durabilityPolicy;
+    }
+
+    public StorageConfig setDurabilityPolicy(DurabilityPolicy durabilityPolicy) {
+        this.durabilityPolicy = durabilityPolicy;
+        return this;
+    }
+
+    public long getWriteDelayMillis() {
+        return this.writeDelayMillis;
+    }
+
+    public StorageConfig setWriteDelayMillis(long writeDelayMillis) {
+        this.writeDelayMillis = writeDelayMillis;
+        return this;
+    }
+
+    public StorageFormat getFormat() {
+        return this.format;
+    }
+
+    public StorageConfig setFormat(StorageFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    public boolean isLazy() {
+        return this.isLazy;
+    }
+
+    public StorageConfig setLazy(boolean isLazy) {
+        this.isLazy = isLazy;
+        return this;
+    }
+
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
+
+    public StorageConfig setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    public boolean isAutoSaved() {
+        return this.isAutoSaved;
+    }
+
+    /**
+     * Sets whether every change is saved as it is made. If not, changes are only saved when
+     * {@code Storage.flush} is called, which is what bulk imports want.
+     */
+    public StorageConfig setAutoSaved(boolean isAutoSaved) {
+        this.isAutoSaved = isAutoSaved;
+        return this;
+    }
+}
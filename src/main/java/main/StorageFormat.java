@@ -0,0 +1,47 @@
+package main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import exception.CommandFoundButInvalidException;
+import task.Task;
+
+/**
+ * Represents a format in which {@code Storage} reads and writes a snapshot of the tasks.
+ * Besides the tasks, a snapshot records the last journal generation it contains and the next id,
+ * in a {@code SnapshotHeader}.
+ */
+public interface StorageFormat {
+    /**
+     * Reads the tasks of a snapshot
+     *
+     * @param in the stream the snapshot is read from
+     * @param tasks the list the tasks are added to, in order
+     * @return the header of the snapshot, with a generation and next id of 0 if it does not record them
+     * @throws IOException if the stream could not be read
+     * @throws CommandFoundButInvalidException if the snapshot is corrupted
+     */
+    SnapshotHeader read(InputStream in, List<Task> tasks) throws IOException, CommandFoundButInvalidException;
+
+    /**
+     * Writes the tasks as a snapshot
+     *
+     * @param out the stream the snapshot is written to
+     * @param tasks the tasks to be written, in order
+     * @param header the last journal generation contained in the snapshot and the next id
+     * @throws IOException if the stream could not be written
+     */
+    void write(OutputStream out, List<Task> tasks, SnapshotHeader header) throws IOException;
+
+    /**
+     * Returns the format described by the given name, which is either {@code text} or {@code binary}.
+     *
+     * @param name the name of the format
+     * @return the corresponding format, or the text format if the name is not recognised
+     */
+    static StorageFormat fromString(String name) {
+        return "binary".equalsIgnoreCase(name) ? new BinaryFormat() : new TextFormat();
+    }
+}
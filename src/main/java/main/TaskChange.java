@@ -0,0 +1,60 @@
+package main;
+
+import task.Task;
+
+/**
+ * Represents a single mutation applied to a {@code TaskList}.
+ * Changes are recorded by the {@code TaskList} and drained by {@code Storage}
+ * so that a journaled storage only has to persist what actually changed.
+ */
+public class TaskChange {
+    /**
+     * The kind of mutation that was applied.
+     */
+    public enum Kind {
+        ADD,
+        DELETE,
+        MARK,
+        UNMARK;
+
+        /**
+         * Returns the kind of mutation that reverts this one.
+         *
+         * @return the inverse kind of mutation
+         */
+        public Kind inverse() {
+            switch (this) {
+            case ADD:
+                return DELETE;
+            case DELETE:
+                return ADD;
+            case MARK:
+                return UNMARK;
+            default:
+                return MARK;
+            }
+        }
+    }
+
+    private final Kind kind;
+    private final Task task;
+
+    /**
+     * Constructs a {@code TaskChange} describing a mutation on the given task, which is identified by its id.
+     *
+     * @param kind the kind of mutation
+     * @param task the affected task
+     */
+    public TaskChange(Kind kind, Task task) {
+        this.kind = kind;
+        this.task = task;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+}
@@ -0,0 +1,30 @@
+package main;
+
+import task.Task;
+
+/**
+ * Represents a secondary index over the tasks of a {@code TaskList}, kept up to date
+ * incrementally as tasks are added, deleted and changed.
+ */
+public interface TaskIndex {
+    /**
+     * Adds a task that was inserted into the list.
+     *
+     * @param task the task that was added
+     */
+    void add(Task task);
+
+    /**
+     * Removes a task that was deleted from the list.
+     *
+     * @param task the task that was deleted
+     */
+    void remove(Task task);
+
+    /**
+     * Updates a task whose done status has changed.
+     *
+     * @param task the task that was changed
+     */
+    void update(Task task);
+}
@@ -1,7 +1,13 @@
 package main;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import exception.CommandFoundButInvalidException;
@@ -10,172 +16,505 @@ import exception.InvalidSyntaxException;
 import task.Deadlines;
 import task.Events;
 import task.Task;
-import task.TaskComparator;
 import task.ToDos;
 
 /**
  * Manages a list of tasks, providing methods to add, mark, unmark, delete, find, and list tasks.
- * Also handles storing tasks in a format suitable for persistence
+ * Also handles storing tasks in a format suitable for persistence.
+ * Changes are synchronized on the list, so only one thread modifies it at a time, and {@code Storage} can
+ * save it from a background thread. {@code list}, {@code find} and {@code sort} read an immutable snapshot
+ * of the tasks instead, which is taken at most once after each change, so they can run on any thread
+ * without waiting for or holding up changes. The indexes they use are built from such a snapshot as well,
+ * and only the changes made while an index was built are applied to it while holding the lock.
+ * Tasks can be referred to by their position or by their id. New tasks get the next id after the
+ * last one given out, so ids increase in list order. Ids are never reused, as the next id is saved
+ * with the tasks and passed back in when they are loaded.
+ * The changes made by each command are kept in a {@code History}, so that they can be undone and redone.
  */
 public class TaskList {
+    public static final int DEFAULT_HISTORY_LIMIT = 10000;
+
+    private static final String ID_PREFIX = "#";
+
     private List<Task> allTasks;
-    private Stack<Task> deletedTasks;
-    private Stack<Task> addedTasks;
-    private Stack<Task> markedTasks;
-    private Stack<Task> unmarkedTasks;
+    private volatile Task lastDeleted;
+    private volatile Task lastAdded;
+    private volatile Task lastMarked;
+    private volatile Task lastUnmarked;
+    private volatile List<Task> published;
+    private volatile List<Task> sorted;
+    private volatile int size;
+    private List<TaskChange> changes;
+    private History history;
+    private List<TaskIndex> indexes;
+    private volatile SearchIndex searchIndex;
+    private volatile SortedIndex sortedIndex;
+    private volatile IntervalIndex intervalIndex;
+    private long nextId;
 
     /**
      * Constructs a {@code TaskList} instance with an initial list of tasks.
+     * Tasks that have no id yet are given one, so that the ids increase in list order.
      *
      * @param allTasks the initial list of tasks
      */
     public TaskList(List<Task> allTasks) {
-        this.allTasks = allTasks;
-        this.deletedTasks = new Stack<>();
-        this.addedTasks = new Stack<>();
-        this.markedTasks = new Stack<>();
-        this.unmarkedTasks = new Stack<>();
+        this(allTasks, DEFAULT_HISTORY_LIMIT);
     }
 
     /**
-     * Deletes a task from the list based on the specified index.
+     * Constructs a {@code TaskList} instance with an initial list of tasks, which keeps at most the
+     * given number of changes to be undone.
      *
-     * @param description the index of the task to be deleted, as a {@code String}
-     * @throws CommandFoundButInvalidException if the command is invalid or the task index is out of bounce
+     * @param allTasks the initial list of tasks
+     * @param historyLimit the maximum number of changes kept to be undone and redone
      */
-    public void delete(String description) throws CommandFoundButInvalidException {
-        try {
-            int num = Integer.parseInt(description);
-            int index = num - 1;
-            if (index >= 0 && index < allTasks.size()) {
-                Task removedTask = allTasks.remove(index);
-                this.deletedTasks.push(removedTask);
-            } else {
-                throw new InvalidSyntaxException("delete");
+    public TaskList(List<Task> allTasks, int historyLimit) {
+        this(allTasks, historyLimit, 1);
+    }
+
+    /**
+     * Constructs a {@code TaskList} instance with an initial list of tasks, which keeps at most the
+     * given number of changes to be undone, and gives new tasks ids from the given one onwards.
+     *
+     * @param allTasks the initial list of tasks
+     * @param historyLimit the maximum number of changes kept to be undone and redone
+     * @param nextId the id of the next new task, as returned by {@code Storage.getNextId}; the id after
+     *               the last task is used instead if it is higher
+     */
+    public TaskList(List<Task> allTasks, int historyLimit, long nextId) {
+        this.allTasks = allTasks;
+        this.changes = new ArrayList<>();
+        this.history = new History(historyLimit);
+        this.indexes = new ArrayList<>();
+        if (!(allTasks instanceof MappedTaskList)) {
+            long lastId = 0;
+            for (Task task : allTasks) {
+                if (task.getId() == 0) {
+                    task.setId(lastId + 1);
+                }
+                lastId = task.getId();
             }
-        } catch (NumberFormatException e) {
-            throw new InvalidSyntaxException("delete");
         }
+        this.nextId = Math.max(nextId, allTasks.isEmpty() ? 1 : idAt(allTasks, allTasks.size() - 1) + 1);
+        this.size = allTasks.size();
+    }
+
+    /**
+     * Deletes a task from the list based on the specified index or id.
+     *
+     * @param description the index of the task to be deleted, or {@code #} followed by its id, as a {@code String}
+     * @return the deleted task
+     * @throws CommandFoundButInvalidException if the command is invalid or the task index is out of bounce
+     */
+    public synchronized Task delete(String description) throws CommandFoundButInvalidException {
+        int index = this.findIndex(description, "delete");
+        int start = this.changes.size();
+        Task removedTask = allTasks.remove(index);
+        this.lastDeleted = removedTask;
+        this.addChange(new TaskChange(TaskChange.Kind.DELETE, removedTask));
+        this.indexes.forEach(taskIndex -> taskIndex.remove(removedTask));
+        this.recordSince(start);
+        return removedTask;
     }
 
     /**
      * Adds a new {@code ToDos} task with the given description to the list
      *
      * @param description the description of the task to be added
+     * @return the added task
      * @throws CommandFoundButInvalidException if the command is invalid
      */
-    public void addTodo(String description) throws CommandFoundButInvalidException {
-        Task current = new ToDos(description);
-        this.allTasks.add(current);
-        this.addedTasks.push(current);
+    public synchronized Task addTodo(String description) throws CommandFoundButInvalidException {
+        return this.add(new ToDos(description));
     }
 
     /**
      * Adds a new {@code Deadlines} task with the given description to the list
      *
      * @param description the description of the task to be added
+     * @return the added task
      * @throws CommandFoundButInvalidException if the command is invalid
      */
-    public void addDeadline(String description) throws CommandFoundButInvalidException {
-        Task current = new Deadlines(description);
-        this.allTasks.add(current);
-        this.addedTasks.push(current);
+    public synchronized Task addDeadline(String description) throws CommandFoundButInvalidException {
+        return this.add(new Deadlines(description));
     }
 
     /**
      * Adds a new {@code Events} task with the given description to the list.
      *
      * @param description the description of the task to be added
+     * @return the added task
      * @throws CommandFoundButInvalidException if the command is invalid
      */
-    public void addEvent(String description) throws CommandFoundButInvalidException {
-        Task current = new Events(description);
+    public synchronized Task addEvent(String description) throws CommandFoundButInvalidException {
+        return this.add(new Events(description));
+    }
+
+    /**
+     * Gives the task the next id and appends it to the list.
+     */
+    private Task add(Task current) {
+        int start = this.changes.size();
+        current.setId(this.nextId++);
         this.allTasks.add(current);
-        this.addedTasks.push(current);
+        this.lastAdded = current;
+        this.addChange(new TaskChange(TaskChange.Kind.ADD, current));
+        this.indexes.forEach(taskIndex -> taskIndex.add(current));
+        this.recordSince(start);
+        return current;
     }
 
     /**
-     * Marks a task as done based on the specified index.
+     * Marks a task as done based on the specified index or id.
+     * Nothing is recorded as changed if the task was already done.
      *
-     * @param description the index of the task to be marked as done, as a {@code String}
+     * @param description the index of the task to be marked as done, or {@code #} followed by its id,
+     *                    as a {@code String}
+     * @return the marked task
      * @throws CommandFoundButInvalidException if the command is invalid or the task index is out of bounce
      */
-    public void mark(String description) throws CommandFoundButInvalidException {
-        try {
-            if (description.isEmpty()) {
-                throw new EmptyDescriptionException("mark");
-            }
-            int index = Integer.parseInt(description) - 1;
-            if (index < 0 || index >= this.allTasks.size()) {
-                throw new InvalidSyntaxException("mark");
-            }
-
-            assert index >= 0 : "index for marking should be at least 0";
-            assert index < this.allTasks.size() : "index must be smaller than no. of tasks";
-            Task targetTask = this.allTasks.get(index);
-            targetTask.markAsDone();
-            this.markedTasks.push(targetTask);
-        } catch (NumberFormatException e) {
-            throw new InvalidSyntaxException("mark");
+    public synchronized Task mark(String description) throws CommandFoundButInvalidException {
+        if (description.isEmpty()) {
+            throw new EmptyDescriptionException("mark");
         }
+        Task targetTask = this.allTasks.get(this.findIndex(description, "mark"));
+        this.lastMarked = targetTask;
+        int start = this.changes.size();
+        this.setDone(targetTask, true);
+        this.recordSince(start);
+        return targetTask;
     }
 
     /**
-     * Unmarks a task as not done based on the specified index.
+     * Unmarks a task as not done based on the specified index or id.
+     * Nothing is recorded as changed if the task was not done.
      *
-     * @param description the index of the task to be unmarked, with type {@code String}
+     * @param description the index of the task to be unmarked, or {@code #} followed by its id,
+     *                    with type {@code String}
+     * @return the unmarked task
      * @throws CommandFoundButInvalidException if the command is invalid or the task index is out of bounce
      */
-    public void unmark(String description) throws CommandFoundButInvalidException {
-        try {
-            if (description.isEmpty()) {
-                throw new EmptyDescriptionException("unmark");
+    public synchronized Task unmark(String description) throws CommandFoundButInvalidException {
+        if (description.isEmpty()) {
+            throw new EmptyDescriptionException("unmark");
+        }
+        Task targetTask = this.allTasks.get(this.findIndex(description, "unmark"));
+        this.lastUnmarked = targetTask;
+        int start = this.changes.size();
+        this.setDone(targetTask, false);
+        this.recordSince(start);
+        return targetTask;
+    }
+
+    /**
+     * Deletes every selected task in a single pass over the list, such as {@code 3,7,9} or {@code done}.
+     *
+     * @param selection the selection of tasks to be deleted, as described in {@code TaskSelection}
+     * @return the deleted tasks, in list order
+     * @throws CommandFoundButInvalidException if the selection is invalid
+     */
+    public synchronized List<Task> deleteAll(String selection) throws CommandFoundButInvalidException {
+        BitSet positions = TaskSelection.resolve(selection, this.allTasks, "delete", true);
+        List<Task> removedTasks = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            removedTasks.add(this.allTasks.get(i));
+        }
+        removePositions(this.allTasks, positions);
+        int start = this.changes.size();
+        for (Task removedTask : removedTasks) {
+            this.addChange(new TaskChange(TaskChange.Kind.DELETE, removedTask));
+            this.indexes.forEach(taskIndex -> taskIndex.remove(removedTask));
+        }
+        this.recordSince(start);
+        return removedTasks;
+    }
+
+    /**
+     * Marks every selected task as done, such as {@code 1-500}.
+     * Only the tasks that were not done yet are recorded as changed.
+     *
+     * @param selection the selection of tasks to be marked, as described in {@code TaskSelection}
+     * @return the selected tasks, in list order
+     * @throws CommandFoundButInvalidException if the selection is invalid
+     */
+    public synchronized List<Task> markAll(String selection) throws CommandFoundButInvalidException {
+        return this.setDoneAll(TaskSelection.resolve(selection, this.allTasks, "mark", false), true);
+    }
+
+    /**
+     * Marks every selected task as not done, such as {@code 1-500}.
+     * Only the tasks that were done are recorded as changed.
+     *
+     * @param selection the selection of tasks to be unmarked, as described in {@code TaskSelection}
+     * @return the selected tasks, in list order
+     * @throws CommandFoundButInvalidException if the selection is invalid
+     */
+    public synchronized List<Task> unmarkAll(String selection) throws CommandFoundButInvalidException {
+        return this.setDoneAll(TaskSelection.resolve(selection, this.allTasks, "unmark", false), false);
+    }
+
+    private List<Task> setDoneAll(BitSet positions, boolean isDone) {
+        List<Task> selectedTasks = new ArrayList<>(positions.cardinality());
+        int start = this.changes.size();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            Task targetTask = this.allTasks.get(i);
+            selectedTasks.add(targetTask);
+            this.setDone(targetTask, isDone);
+        }
+        this.recordSince(start);
+        return selectedTasks;
+    }
+
+    /**
+     * Marks the task as done or not done, recording it as changed only if its status flips.
+     */
+    private void setDone(Task targetTask, boolean isDone) {
+        if (targetTask.isDone() == isDone) {
+            return;
+        }
+        this.apply(isDone ? TaskChange.Kind.MARK : TaskChange.Kind.UNMARK, targetTask);
+    }
+
+    /**
+     * Undoes the changes made by the most recent command that was not undone yet.
+     *
+     * @return the tasks that were changed back, in the order the command changed them
+     * @throws CommandFoundButInvalidException if there is nothing to undo
+     */
+    public synchronized List<Task> undo() throws CommandFoundButInvalidException {
+        TaskChange[] undone = this.history.undo();
+        if (undone == null) {
+            throw new CommandFoundButInvalidException("There is nothing to undo");
+        }
+        for (int i = undone.length - 1; i >= 0; i--) {
+            this.apply(undone[i].getKind().inverse(), undone[i].getTask());
+        }
+        return tasksOf(undone);
+    }
+
+    /**
+     * Makes the changes of the most recently undone command again.
+     *
+     * @return the tasks that were changed again, in the order the command changed them
+     * @throws CommandFoundButInvalidException if there is nothing to redo
+     */
+    public synchronized List<Task> redo() throws CommandFoundButInvalidException {
+        TaskChange[] redone = this.history.redo();
+        if (redone == null) {
+            throw new CommandFoundButInvalidException("There is nothing to redo");
+        }
+        for (TaskChange change : redone) {
+            this.apply(change.getKind(), change.getTask());
+        }
+        return tasksOf(redone);
+    }
+
+    /**
+     * Applies a single change to the list and its indexes and records it for storage, but not in the history.
+     * A task that is added back is inserted at the position its id belongs at, so ids keep increasing in list order.
+     */
+    private void apply(TaskChange.Kind kind, Task task) {
+        switch (kind) {
+        case ADD:
+            this.allTasks.add(-indexOf(this.allTasks, task.getId()) - 1, task);
+            this.indexes.forEach(taskIndex -> taskIndex.add(task));
+            break;
+        case DELETE:
+            this.allTasks.remove(indexOf(this.allTasks, task.getId()));
+            this.indexes.forEach(taskIndex -> taskIndex.remove(task));
+            break;
+        case MARK:
+            task.markAsDone();
+            this.indexes.forEach(taskIndex -> taskIndex.update(task));
+            break;
+        case UNMARK:
+            task.markAsNotDone();
+            this.indexes.forEach(taskIndex -> taskIndex.update(task));
+            break;
+        default:
+            throw new IllegalStateException("Unknown change " + kind);
+        }
+        this.addChange(new TaskChange(kind, task));
+    }
+
+    /**
+     * Records a change for storage and drops the snapshots taken before it.
+     * Must be called after the change was made to the list, while holding its lock.
+     */
+    private void addChange(TaskChange change) {
+        this.changes.add(change);
+        this.size = this.allTasks.size();
+        this.published = null;
+        this.sorted = null;
+    }
+
+    /**
+     * Records the changes made since the given number of changes as a single command in the history.
+     */
+    private void recordSince(int start) {
+        this.history.record(this.changes.subList(start, this.changes.size()));
+    }
+
+    private static List<Task> tasksOf(TaskChange[] changes) {
+        List<Task> tasks = new ArrayList<>(changes.length);
+        for (TaskChange change : changes) {
+            tasks.add(change.getTask());
+        }
+        return tasks;
+    }
+
+    /**
+     * Removes the tasks at the given positions by moving every remaining task at most once,
+     * instead of shifting the rest of the list for each removed task.
+     */
+    private static void removePositions(List<Task> tasks, BitSet positions) {
+        if (tasks instanceof MappedTaskList) {
+            ((MappedTaskList) tasks).removeAll(positions);
+            return;
+        }
+        int first = positions.nextSetBit(0);
+        if (first < 0) {
+            return;
+        }
+        int write = first;
+        for (int read = first; read < tasks.size(); read++) {
+            if (!positions.get(read)) {
+                tasks.set(write++, tasks.get(read));
             }
-            int index = Integer.parseInt(description) - 1;
-            if (index < 0 || index >= this.allTasks.size()) {
-                throw new InvalidSyntaxException("unmark");
+        }
+        tasks.subList(write, tasks.size()).clear();
+    }
+
+    /**
+     * Returns the position of the task referred to by the description, which is either its 1-based
+     * position or {@code #} followed by its id. A task is found by its id with a binary search,
+     * as the ids increase in list order.
+     */
+    private int findIndex(String description, String command) throws InvalidSyntaxException {
+        int index;
+        if (description.startsWith(ID_PREFIX)) {
+            index = indexOf(this.allTasks, parseId(description, command));
+        } else {
+            try {
+                index = Integer.parseInt(description) - 1;
+            } catch (NumberFormatException e) {
+                throw new InvalidSyntaxException(command);
             }
+        }
+        if (index < 0 || index >= this.allTasks.size()) {
+            throw new InvalidSyntaxException(command);
+        }
+        assert index >= 0 : "index should be at least 0";
+        assert index < this.allTasks.size() : "index must be smaller than no. of tasks";
+        return index;
+    }
 
-            assert index >= 0 : "Index must be at least 0 for unmark instructions";
-            assert index < this.allTasks.size() : "Index cannot must be less than the no. of tasks";
-            Task targetTask = this.allTasks.get(index);
-            targetTask.markAsNotDone();
-            this.unmarkedTasks.push(targetTask);
+    private static long parseId(String description, String command) throws InvalidSyntaxException {
+        try {
+            return Long.parseLong(description.substring(ID_PREFIX.length()));
         } catch (NumberFormatException e) {
-            throw new InvalidSyntaxException("unmark");
+            throw new InvalidSyntaxException(command);
         }
     }
 
+    /**
+     * Returns the id of the task at the given position, without parsing the task if the list is memory-mapped.
+     *
+     * @param tasks the tasks, in increasing order of id
+     * @param index the position of the task
+     * @return the id of the task
+     */
+    static long idAt(List<Task> tasks, int index) {
+        if (tasks instanceof MappedTaskList) {
+            return ((MappedTaskList) tasks).getId(index);
+        }
+        return tasks.get(index).getId();
+    }
+
+    /**
+     * Returns the position of the task with the given id, found with a binary search.
+     *
+     * @param tasks the tasks, in increasing order of id
+     * @param id the id of the task
+     * @return the position of the task, or {@code -(insertion point) - 1} if there is no task with the id,
+     *         like {@code Collections.binarySearch}
+     */
+    static int indexOf(List<Task> tasks, long id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = idAt(tasks, middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
     /**
      * Returns a string containing all the {@code Task} where its toString()
-     * representation contains the input string
+     * representation contains the input string.
+     * Shorter inputs are searched for in a snapshot of the tasks without locking the list.
+     * Inputs of at least three characters are answered from a {@code SearchIndex}, which is built
+     * on the first search and kept up to date afterwards. The list is only locked while the
+     * candidates containing every trigram of the input are found in the index, in list order; they are
+     * checked against the input afterwards.
      *
      * @param str the input string by the user
      * @return all {@code Task} whose toString() method contains the input string
      */
     public Stream<Task> find(String str) {
-        return this.allTasks.stream()
+        if (str.length() < SearchIndex.GRAM_LENGTH) {
+            return this.snapshot().stream()
+                    .filter(x -> x.toString().contains(str));
+        }
+        SearchIndex index = this.getSearchIndex();
+        List<Task> candidates;
+        synchronized (this) {
+            candidates = index.candidates(str);
+        }
+        return candidates.stream()
                 .filter(x -> x.toString().contains(str));
     }
 
     /**
-     * Returns the string representation when users enter the list command
+     * Returns the string representation when users enter the list command, which shows one page
+     * of {@code ResultPager.DEFAULT_PAGE_SIZE} tasks unless another page size is given.
      *
-     * @return the string representation of the {@code Task} in the {@code ArrayList}
+     * @param input the page number and page size as described in {@code PageRequest}, or an empty
+     *              {@code String} for the first page
+     * @return the string representation of the {@code Task} on the page
+     * @throws CommandFoundButInvalidException if the page number is invalid or there is no such page
      */
     public String list(String input) throws CommandFoundButInvalidException {
-        if (!input.isEmpty()) {
-            throw new InvalidSyntaxException("list");
-        }
+        return new ResultPager().showList(this, PageRequest.parseList(input));
+    }
 
-        assert input.isEmpty() : "input String has to be empty for a valid list command";
-        String s1 = "Here are the tasks in your list:";
-        for (int i = 0; i < allTasks.size(); i++) {
-            String index = String.format("%d", i + 1);
-            String curr = "\n" + index + ". " + allTasks.get(i).toString();
-            s1 = s1.concat(curr);
+    /**
+     * Returns the tasks at the given positions, for showing a single page of the list.
+     * The latest snapshot is read if one was taken since the last change; otherwise only the tasks on
+     * the page are copied while holding the lock, so a page costs the same however long the list is.
+     *
+     * @param from the position of the first task, inclusive
+     * @param to the position after the last task, which may be past the end of the list
+     * @return the tasks on the page, which stay unchanged while the list is modified
+     */
+    public List<Task> getPage(int from, int to) {
+        List<Task> tasks = this.published;
+        if (tasks != null) {
+            int end = Math.min(to, tasks.size());
+            return tasks.subList(Math.min(from, end), end);
+        }
+        synchronized (this) {
+            int end = Math.min(to, this.allTasks.size());
+            return List.copyOf(this.allTasks.subList(Math.min(from, end), end));
         }
-        return s1;
     }
 
     /**
@@ -185,18 +524,77 @@ public class TaskList {
      *         storage
      */
     public String toMemoryString() {
+        List<Task> tasks = this.snapshot();
         StringBuilder result = new StringBuilder();
-        for (Task t : allTasks) {
-            result.append(t.getInitDesc());
+        if (tasks instanceof MappedTaskList) {
+            MappedTaskList mapped = (MappedTaskList) tasks;
+            for (int i = 0; i < mapped.size(); i++) {
+                result.append(mapped.getLine(i));
+                result.append("\n");
+            }
+            return result.toString();
+        }
+        for (Task t : tasks) {
+            result.append(TextFormat.formatLine(t));
             result.append("\n");
         }
         return result.toString();
     }
 
     /**
-     * Sort the {@code Task} according to the order specified by TaskComparator
+     * Returns the id the next new task is to be given, so that it can be saved with the tasks.
+     *
+     * @return the next id, which is higher than the id of every task added so far
+     */
+    synchronized long getNextId() {
+        return this.nextId;
+    }
+
+    /**
+     * Returns the changes made since the last call and starts recording afresh.
+     *
+     * @return the changes in the order they were applied
+     */
+    synchronized List<TaskChange> drainChanges() {
+        if (this.changes.isEmpty()) {
+            return List.of();
+        }
+        List<TaskChange> drained = this.changes;
+        this.changes = new ArrayList<>();
+        return drained;
+    }
+
+    /**
+     * Returns a copy of the current tasks, which stays unchanged while the list is modified.
+     * The copy is only taken once after each change and then shared by every reader, which
+     * does not lock the list unless a copy has to be taken.
+     * Tasks of a memory-mapped list that were not accessed yet are not parsed to make the copy.
+     *
+     * @return a copy of the tasks in their current order
+     */
+    List<Task> snapshot() {
+        List<Task> tasks = this.published;
+        if (tasks == null) {
+            synchronized (this) {
+                tasks = this.published;
+                if (tasks == null) {
+                    tasks = this.allTasks instanceof MappedTaskList
+                            ? ((MappedTaskList) this.allTasks).copy()
+                            : List.copyOf(this.allTasks);
+                    this.published = tasks;
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Sort the {@code Task} according to the order specified by TaskComparator.
+     * The order is read from a {@code SortedIndex}, which is built on the first sort and kept
+     * up to date afterwards. Like {@link #snapshot}, the sorted tasks are only read from the index
+     * once after each change and then shared without locking the list.
      * @param input the input entered by user after the command sort
-     * @return a {@code List} of {@code Task} that is in sorted order
+     * @return an unmodifiable {@code List} of {@code Task} that is in sorted order
      * @throws InvalidSyntaxException if the description keyed in by the user is invalid
      */
     public List<Task> sort(String input) throws InvalidSyntaxException {
@@ -204,10 +602,104 @@ public class TaskList {
             throw new InvalidSyntaxException("sort");
         }
 
-        return this.allTasks
-                .stream()
-                .sorted(new TaskComparator())
-                .toList();
+        List<Task> tasks = this.sorted;
+        if (tasks == null) {
+            SortedIndex index = this.getSortedIndex();
+            synchronized (this) {
+                tasks = this.sorted;
+                if (tasks == null) {
+                    tasks = Collections.unmodifiableList(index.sorted());
+                    this.sorted = tasks;
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the events overlapping the given window and the deadlines due within it,
+     * in chronological order of event start times and deadlines.
+     * Events are found through an {@code IntervalIndex}, which is built on the first query
+     * and kept up to date afterwards.
+     *
+     * @param from the start of the window, inclusive
+     * @param to the end of the window, inclusive
+     * @return a {@code List} of the {@code Events} and {@code Deadlines} within the window
+     */
+    public List<Task> getTasksBetween(LocalDateTime from, LocalDateTime to) {
+        IntervalIndex eventIndex = this.getIntervalIndex();
+        SortedIndex deadlineIndex = this.getSortedIndex();
+        List<Task> events;
+        List<Task> deadlines;
+        synchronized (this) {
+            events = eventIndex.overlapping(from, to);
+            deadlines = deadlineIndex.deadlinesBetween(from, to);
+        }
+        List<Task> result = new ArrayList<>(events.size() + deadlines.size());
+        int i = 0;
+        int j = 0;
+        while (i < events.size() || j < deadlines.size()) {
+            boolean isEventFirst = j == deadlines.size()
+                    || i < events.size()
+                    && !((Events) events.get(i)).getStart().isAfter(((Deadlines) deadlines.get(j)).getDeadline());
+            result.add(isEventFirst ? events.get(i++) : deadlines.get(j++));
+        }
+        return result;
+    }
+
+    private SearchIndex getSearchIndex() {
+        SearchIndex index = this.searchIndex;
+        if (index == null) {
+            index = this.buildIndex(SearchIndex::new, () -> this.searchIndex, built -> this.searchIndex = built);
+        }
+        return index;
+    }
+
+    private SortedIndex getSortedIndex() {
+        SortedIndex index = this.sortedIndex;
+        if (index == null) {
+            index = this.buildIndex(SortedIndex::new, () -> this.sortedIndex, built -> this.sortedIndex = built);
+        }
+        return index;
+    }
+
+    private IntervalIndex getIntervalIndex() {
+        IntervalIndex index = this.intervalIndex;
+        if (index == null) {
+            index = this.buildIndex(IntervalIndex::new, () -> this.intervalIndex,
+                    built -> this.intervalIndex = built);
+        }
+        return index;
+    }
+
+    /**
+     * Builds an index from a snapshot of the tasks without holding the lock, so that building it over a long
+     * list does not hold up changes. A {@code PendingIndex} records the changes made in the meantime, which
+     * are applied to the index before it is published and kept up to date with the list.
+     * If another thread published the same kind of index first, that one is returned instead.
+     */
+    private <T extends TaskIndex> T buildIndex(Function<List<Task>, T> factory, Supplier<T> published,
+            Consumer<T> publish) {
+        PendingIndex pending = new PendingIndex();
+        List<Task> tasks;
+        synchronized (this) {
+            tasks = this.snapshot();
+            this.indexes.add(pending);
+        }
+        T index = null;
+        try {
+            index = factory.apply(tasks);
+        } finally {
+            synchronized (this) {
+                this.indexes.remove(pending);
+                if (index != null && published.get() == null) {
+                    pending.applyTo(index);
+                    this.indexes.add(index);
+                    publish.accept(index);
+                }
+            }
+        }
+        return published.get();
     }
 
     /**
@@ -216,7 +708,7 @@ public class TaskList {
      * @return the last marked {@code Task}
      */
     public Task getLastMarked() {
-        return this.markedTasks.pop();
+        return this.lastMarked;
     }
 
     /**
@@ -225,7 +717,7 @@ public class TaskList {
      * @return the last unmarked {@code Task}
      */
     public Task getLastUnmarked() {
-        return this.unmarkedTasks.pop();
+        return this.lastUnmarked;
     }
 
     /**
@@ -234,7 +726,7 @@ public class TaskList {
      * @return the last added {@code Task}
      */
     public Task getLastAdded() {
-        return addedTasks.pop();
+        return this.lastAdded;
     }
 
     /**
@@ -243,7 +735,7 @@ public class TaskList {
      * @return the size of the task list
      */
     public int getSize() {
-        return this.allTasks.size();
+        return this.size;
     }
 
     /**
@@ -252,7 +744,7 @@ public class TaskList {
      * @return the last deleted {@code Task}
      */
     public Task getLastDeleted() {
-        return deletedTasks.pop();
+        return this.lastDeleted;
     }
 
 }
@@ -0,0 +1,102 @@
+package main;
+
+import java.util.BitSet;
+import java.util.List;
+
+import exception.InvalidSyntaxException;
+import task.Task;
+
+/**
+ * Parses the selection of several tasks given to a bulk command, such as {@code 1-500}, {@code 3,7,#12}
+ * or {@code done}. A selection is a comma-separated list of 1-based positions, ranges of positions and
+ * {@code #ID}s, or the word {@code done} for every task that is done, which only {@code delete} accepts.
+ */
+public class TaskSelection {
+    private static final String DONE = "done";
+
+    private TaskSelection() {
+    }
+
+    /**
+     * Returns whether the description selects several tasks rather than a single one.
+     *
+     * @param description the description given to the command
+     * @return true if the description is a range, a list or {@code done}
+     */
+    public static boolean isBulk(String description) {
+        return description.indexOf(',') != -1 || description.indexOf('-', 1) != -1
+                || description.equalsIgnoreCase(DONE);
+    }
+
+    /**
+     * Returns the positions of the selected tasks.
+     *
+     * @param description the selection
+     * @param tasks the tasks to select from, in increasing order of id
+     * @param command the command the selection was given to, for the error message
+     * @param acceptsDone whether the command accepts {@code done}
+     * @return the 0-based positions of the selected tasks
+     * @throws InvalidSyntaxException if the selection is malformed, refers to a task that does not exist,
+     *         or is {@code done} for a command that does not accept it
+     */
+    static BitSet resolve(String description, List<Task> tasks, String command, boolean acceptsDone)
+            throws InvalidSyntaxException {
+        BitSet positions = new BitSet(tasks.size());
+        if (description.equalsIgnoreCase(DONE)) {
+            if (!acceptsDone) {
+                throw new InvalidSyntaxException(command + ", done can only be used to delete tasks");
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).isDone()) {
+                    positions.set(i);
+                }
+            }
+            return positions;
+        }
+        int start = 0;
+        while (start <= description.length()) {
+            int end = description.indexOf(',', start);
+            if (end == -1) {
+                end = description.length();
+            }
+            String item = description.substring(start, end).trim();
+            if (item.startsWith("#")) {
+                positions.set(checkIndex(TaskList.indexOf(tasks, parseId(item, command)), tasks, command));
+            } else {
+                int dash = item.indexOf('-', 1);
+                int from = parsePosition(dash == -1 ? item : item.substring(0, dash), tasks, command);
+                int to = dash == -1 ? from : parsePosition(item.substring(dash + 1), tasks, command);
+                if (from > to) {
+                    throw new InvalidSyntaxException(command);
+                }
+                positions.set(from, to + 1);
+            }
+            start = end + 1;
+        }
+        return positions;
+    }
+
+    private static int parsePosition(String position, List<Task> tasks, String command)
+            throws InvalidSyntaxException {
+        try {
+            return checkIndex(Integer.parseInt(position.trim()) - 1, tasks, command);
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException(command);
+        }
+    }
+
+    private static long parseId(String item, String command) throws InvalidSyntaxException {
+        try {
+            return Long.parseLong(item.substring(1));
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException(command);
+        }
+    }
+
+    private static int checkIndex(int index, List<Task> tasks, String command) throws InvalidSyntaxException {
+        if (index < 0 || index >= tasks.size()) {
+            throw new InvalidSyntaxException(command);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,284 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+/**
+ * The human-readable storage format, with one {@code ID | TYPE | DONE | DESCRIPTION} line per task.
+ * Lines written before tasks had ids, without the {@code ID} field, are still read, and their tasks
+ * are numbered after the task before them.
+ * A {@code # generation GENERATION next-id NEXT_ID} line comes first if the file replaces journal segments,
+ * or if the next id does not follow from the last task; the {@code next-id} part is left out if it does.
+ * Files larger than the parallel threshold are split into chunks at line boundaries, which are
+ * parsed concurrently on the common fork-join pool and then joined back in their original order.
+ */
+public class TextFormat implements StorageFormat {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 20;
+    private static final String GENERATION_HEADER = "# generation ";
+    private static final String NEXT_ID_FIELD = " next-id ";
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final String SEPARATOR = "| ";
+
+    private final int parallelThreshold;
+
+    /**
+     * Constructs a {@code TextFormat} that parses files of at least 1MB in parallel.
+     */
+    public TextFormat() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a {@code TextFormat} that parses files of at least the given size in parallel.
+     *
+     * @param parallelThreshold the size in bytes below which a file is parsed sequentially
+     */
+    public TextFormat(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public SnapshotHeader read(InputStream in, List<Task> tasks) throws IOException, CommandFoundButInvalidException {
+        byte[] data = in.readAllBytes();
+        int start = 0;
+        SnapshotHeader header = new SnapshotHeader(0, 0);
+        if (startsWith(data, GENERATION_HEADER)) {
+            int end = lineEnd(data, 0);
+            header = parseHeader(new String(data, 0, end, StandardCharsets.UTF_8));
+            start = Math.min(end + 1, data.length);
+        }
+
+        if (data.length - start < this.parallelThreshold || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            parseChunk(data, start, data.length, tasks);
+            assignMissingIds(tasks);
+            return header;
+        }
+
+        int chunkCount = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int[] bounds = chunkBounds(data, start, chunkCount);
+        try {
+            List<List<Task>> chunks = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> {
+                        List<Task> chunk = new ArrayList<>();
+                        try {
+                            parseChunk(data, bounds[i], bounds[i + 1], chunk);
+                        } catch (CommandFoundButInvalidException e) {
+                            throw new CompletionException(e);
+                        }
+                        return chunk;
+                    })
+                    .toList();
+            chunks.forEach(tasks::addAll);
+        } catch (CompletionException e) {
+            throw (CommandFoundButInvalidException) e.getCause();
+        }
+        assignMissingIds(tasks);
+        return header;
+    }
+
+    /**
+     * Gives the tasks read from lines without an id the id after the one of the task before them,
+     * and checks that the ids increase in list order, as {@code TaskList} relies on it.
+     */
+    private static void assignMissingIds(List<Task> tasks) throws CommandFoundButInvalidException {
+        long lastId = 0;
+        for (Task task : tasks) {
+            if (task.getId() == 0) {
+                task.setId(lastId + 1);
+            } else if (task.getId() <= lastId) {
+                throw new InvalidSyntaxException("File is corrupted");
+            }
+            lastId = task.getId();
+        }
+    }
+
+    /**
+     * Splits the data into roughly equal chunks that each start right after a newline.
+     *
+     * @return the boundaries of the chunks, starting with {@code start} and ending with the data length
+     */
+    private static int[] chunkBounds(byte[] data, int start, int chunkCount) {
+        int chunkSize = Math.max(1, (data.length - start) / chunkCount);
+        int[] bounds = new int[chunkCount + 1];
+        int count = 0;
+        bounds[count++] = start;
+        int position = start + chunkSize;
+        while (position < data.length && count < chunkCount) {
+            int end = lineEnd(data, position);
+            if (end + 1 >= data.length) {
+                break;
+            }
+            bounds[count++] = end + 1;
+            position = end + 1 + chunkSize;
+        }
+        bounds[count++] = data.length;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Parses every line between the given offsets, which must lie on line boundaries.
+     */
+    private static void parseChunk(byte[] data, int from, int to, List<Task> tasks)
+            throws CommandFoundButInvalidException {
+        String content = new String(data, from, to - from, StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < content.length()) {
+            int end = content.indexOf('\n', start);
+            if (end == -1) {
+                end = content.length();
+            }
+            int lineEnd = end > start && content.charAt(end - 1) == '\r' ? end - 1 : end;
+            tasks.add(parseLine(content.substring(start, lineEnd)));
+            start = end + 1;
+        }
+    }
+
+    private static int lineEnd(byte[] data, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return data.length;
+    }
+
+    private static boolean startsWith(byte[] data, String prefix) {
+        if (data.length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void write(OutputStream out, List<Task> tasks, SnapshotHeader header) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long impliedNextId = tasks.isEmpty() ? 1 : TaskList.idAt(tasks, tasks.size() - 1) + 1;
+        boolean isNextIdImplied = header.getNextId() <= impliedNextId;
+        if (header.getGeneration() > 0 || !isNextIdImplied) {
+            bw.append(GENERATION_HEADER).append(String.valueOf(header.getGeneration()));
+            if (!isNextIdImplied) {
+                bw.append(NEXT_ID_FIELD).append(String.valueOf(header.getNextId()));
+            }
+            bw.append("\n");
+        }
+        if (tasks instanceof MappedTaskList) {
+            MappedTaskList mapped = (MappedTaskList) tasks;
+            for (int i = 0; i < mapped.size(); i++) {
+                bw.append(mapped.getLine(i));
+                bw.append("\n");
+            }
+        } else {
+            for (Task t : tasks) {
+                bw.append(formatLine(t));
+                bw.append("\n");
+            }
+        }
+        bw.flush();
+    }
+
+    /**
+     * Parses the header line of a file, which starts with {@code # generation}.
+     *
+     * @param line the header line
+     * @return the generation and the next id in the line, with a next id of 0 if the line has none
+     * @throws CommandFoundButInvalidException if the line is corrupted
+     */
+    static SnapshotHeader parseHeader(String line) throws CommandFoundButInvalidException {
+        String values = line.substring(GENERATION_HEADER.length()).trim();
+        int nextIdStart = values.indexOf(NEXT_ID_FIELD);
+        try {
+            if (nextIdStart == -1) {
+                return new SnapshotHeader(Long.parseLong(values), 0);
+            }
+            return new SnapshotHeader(Long.parseLong(values.substring(0, nextIdStart)),
+                    Long.parseLong(values.substring(nextIdStart + NEXT_ID_FIELD.length()).trim()));
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+    }
+
+    /**
+     * Returns the line of the task in this format.
+     *
+     * @param task the task to be formatted
+     * @return the task as an {@code ID | TYPE | DONE | DESCRIPTION} line
+     */
+    static String formatLine(Task task) {
+        return task.getId() + " " + SEPARATOR + task.getInitDesc();
+    }
+
+    /**
+     * Parses a single line from the file and returns the corresponding Task object.
+     * The line is scanned for its {@code "| "} separators in place rather than split with a regular expression.
+     *
+     * @param line the line that needs to be parsed
+     * @return the corresponding Task object, with an id of 0 if the line has none
+     * @throws CommandFoundButInvalidException if the file contains invalid syntax
+     */
+    static Task parseLine(String line) throws CommandFoundButInvalidException {
+        long id = 0;
+        int typeStart = 0;
+        if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
+            int idEnd = line.indexOf(SEPARATOR);
+            if (idEnd == -1) {
+                throw new InvalidSyntaxException("File is corrupted");
+            }
+            try {
+                id = Long.parseLong(line.substring(0, idEnd).trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidSyntaxException("File is corrupted");
+            }
+            typeStart = idEnd + SEPARATOR.length();
+        }
+        int typeEnd = line.indexOf(SEPARATOR, typeStart);
+        int doneEnd = typeEnd == -1 ? -1 : line.indexOf(SEPARATOR, typeEnd + SEPARATOR.length());
+        if (doneEnd == -1) {
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+        int descriptionStart = doneEnd + SEPARATOR.length();
+        int descriptionEnd = line.indexOf(SEPARATOR, descriptionStart);
+        String description = line.substring(descriptionStart, descriptionEnd == -1 ? line.length() : descriptionEnd);
+        Task currTask;
+        switch (line.substring(typeStart, typeEnd).trim()) {
+        case "T":
+            currTask = new ToDos(description);
+            break;
+        case "D":
+            currTask = new Deadlines(description);
+            break;
+        case "E":
+            currTask = new Events(description);
+            break;
+        default:
+            throw new InvalidSyntaxException("File is corrupted");
+        }
+        if (Integer.parseInt(line.substring(typeEnd + SEPARATOR.length(), doneEnd).trim()) == 1) {
+            currTask.markAsDone();
+        }
+        currTask.setId(id);
+        return currTask;
+    }
+}
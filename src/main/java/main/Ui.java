@@ -1,5 +1,8 @@
 package main;
 
+import java.util.List;
+import java.util.Locale;
+
 import task.Task;
 
 /**
@@ -8,6 +11,7 @@ import task.Task;
  * and other interactions.
  */
 public class Ui {
+    private static final int MAX_TASKS_SHOWN = 10;
 
     /**
      * Displays a welcome message to the user.
@@ -36,11 +40,11 @@ public class Ui {
      *
      * @param t the {@code Task} instance that is being added
      * @param size the current size of the {@code List} of {@code Task}
-     * @return the message which tells the task that is added and the number
+     * @return the message which tells the task that is added, its id and the number
      *         of Tasks in the List of Tasks
      */
     public String addedMessage(Task t, int size) {
-        String str1 = "Got it. I've added this task:\n";
+        String str1 = String.format("Got it. I've added this task as #%d:\n", t.getId());
         String str2 = String.format("Now you have %d tasks in the list", size);
         return str1 + t.toString() + "\n" + str2;
     }
@@ -65,6 +69,82 @@ public class Ui {
         return "OK, I've marked this task as not done yet:\n" + t.toString();
     }
 
+    /**
+     * Returns a message upon successful deletion of several {@code Task} at once
+     *
+     * @param tasks the {@code Task} instances that were deleted
+     * @param size the current size of the {@code List} of {@code Task}
+     * @return the message which tells the tasks that are deleted and the number
+     *         of Tasks in the List of Tasks
+     */
+    public String deleteAllMessage(List<Task> tasks, int size) {
+        String s1 = String.format("Noted. I've removed these %d tasks:", tasks.size());
+        String s2 = String.format("Now you have %d tasks in the list", size);
+        return s1 + describe(tasks) + "\n" + s2;
+    }
+
+    /**
+     * Returns a message upon successful marking of several {@code Task} at once
+     *
+     * @param tasks the {@code Task} instances that were marked
+     * @return the message that tells which {@code Task} are marked
+     */
+    public String markedAllMessage(List<Task> tasks) {
+        return String.format("Nice! I've marked these %d tasks as done:", tasks.size()) + describe(tasks);
+    }
+
+    /**
+     * Returns a message upon successful unmarking of several {@code Task} at once
+     *
+     * @param tasks the {@code Task} instances that were unmarked
+     * @return the message that tells which {@code Task} are unmarked
+     */
+    public String unmarkedAllMessage(List<Task> tasks) {
+        return String.format("OK, I've marked these %d tasks as not done yet:", tasks.size()) + describe(tasks);
+    }
+
+    /**
+     * Returns a message upon successfully undoing the most recent change
+     *
+     * @param tasks the {@code Task} instances that were changed back
+     * @param size the current size of the {@code List} of {@code Task}
+     * @return the message which tells the tasks that were changed back and the number
+     *         of Tasks in the List of Tasks
+     */
+    public String undoneMessage(List<Task> tasks, int size) {
+        String s1 = String.format("OK, I've undone the last change to these %d tasks:", tasks.size());
+        String s2 = String.format("Now you have %d tasks in the list", size);
+        return s1 + describe(tasks) + "\n" + s2;
+    }
+
+    /**
+     * Returns a message upon successfully redoing the most recently undone change
+     *
+     * @param tasks the {@code Task} instances that were changed again
+     * @param size the current size of the {@code List} of {@code Task}
+     * @return the message which tells the tasks that were changed again and the number
+     *         of Tasks in the List of Tasks
+     */
+    public String redoneMessage(List<Task> tasks, int size) {
+        String s1 = String.format("OK, I've redone the last change to these %d tasks:", tasks.size());
+        String s2 = String.format("Now you have %d tasks in the list", size);
+        return s1 + describe(tasks) + "\n" + s2;
+    }
+
+    /**
+     * Lists the first few tasks, one per line, and how many more there are.
+     */
+    private static String describe(List<Task> tasks) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < Math.min(tasks.size(), MAX_TASKS_SHOWN); i++) {
+            result.append("\n").append(tasks.get(i));
+        }
+        if (tasks.size() > MAX_TASKS_SHOWN) {
+            result.append(String.format("\n...and %d more", tasks.size() - MAX_TASKS_SHOWN));
+        }
+        return result.toString();
+    }
+
     /**
      * Returns a successful message upon the find command
      *
@@ -86,4 +166,33 @@ public class Ui {
     public String sortMessage() {
         return "I had sorted them for you.";
     }
+
+    /**
+     * Returns a successful message upon the between command
+     *
+     * @return a message indicating the events and deadlines within the period are being displayed
+     */
+    public String betweenMessage() {
+        return "Here is what is happening in that period";
+    }
+
+    /**
+     * Returns a successful message upon the stats command
+     *
+     * @return a message indicating how long the commands took is being displayed
+     */
+    public String statsMessage() {
+        return "Here is how long your commands took";
+    }
+
+    /**
+     * Returns how often the saved data was forced to disk, shown after the statistics of the commands
+     *
+     * @param policy the durability policy deciding when the data is forced to disk
+     * @return a message with the number of syncs and the time spent in them
+     */
+    public String syncMessage(DurabilityPolicy policy) {
+        return String.format(Locale.ROOT, "fsync (%s): %d syncs, %.1f ms in total",
+                policy, policy.getSyncCount(), policy.getSyncNanos() / 1e6);
+    }
 }
@@ -1,8 +1,6 @@
 package task;
 
-import java.time.DateTimeException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import exception.CommandFoundButInvalidException;
 import exception.EmptyDescriptionException;
@@ -26,43 +24,54 @@ public class Deadlines extends Task {
     public Deadlines(String description) throws CommandFoundButInvalidException {
         super(description);
         this.initDesc = description;
-        super.description = this.getValidString(description)[0].trim();
-        String date = this.getValidString(description)[1].trim();
-        date = date.replace("/", "-");
-        try {
-            deadline = LocalDateTime.parse(date);
-        } catch (DateTimeException e) {
+        String[] inputs = this.getValidString(description);
+        super.description = inputs[0];
+        deadline = TaskArguments.parseDateTime(inputs[1].replace('/', '-'));
+        if (deadline == null) {
             throw new InvalidSyntaxException("deadline, please use yyyy-mm-ddThh:mm. E.g. 2024-09-11T23:59");
         }
     }
 
+    /**
+     * Constructs a {@code Deadlines} object from a description and deadline that were already
+     * validated, e.g. when read back from storage, without parsing them again
+     *
+     * @param description the description of the task, without the deadline
+     * @param deadline the deadline of the task
+     */
+    public Deadlines(String description, LocalDateTime deadline) {
+        super(description);
+        this.deadline = deadline;
+    }
+
     /**
      * Returns a strinf representation of the deadline task in a user-readable format
      *
      * @return a string representation of the deadline task
      */
-    public String toString() {
-        String str = " (by: " + deadline.format(DateTimeFormatter.ofPattern("dd MMM yyy HH:mm")) + ")";
-        return "[D]" + super.toString() + str;
+    @Override
+    protected String render() {
+        String str = " (by: " + deadline.format(DISPLAY_FORMATTER) + ")";
+        return "[D]" + super.render() + str;
     }
 
     /**
      * Checks the input string and splits the string into the task description and deadline components
      *
      * @param description the description of the task, including the deadline
-     * @return an array of string where the first element is the task description and the second is the
-     *         deadline
+     * @return an array of string where the first element is the trimmed task description and the second is
+     *         the trimmed deadline
      * @throws CommandFoundButInvalidException if the description format is incorrect
      */
     public String[] getValidString(String description) throws CommandFoundButInvalidException {
         if (description.isEmpty()) {
             throw new EmptyDescriptionException("deadline");
         }
-        String[] inputArray = description.split("/by");
-        if (inputArray.length == 2 && !inputArray[0].isEmpty() && !inputArray[1].isEmpty()) {
-            return inputArray;
+        String[] inputArray = TaskArguments.splitDeadline(description);
+        if (inputArray == null) {
+            throw new InvalidSyntaxException("deadline");
         }
-        throw new InvalidSyntaxException("deadline");
+        return inputArray;
     }
 
     /**
@@ -74,7 +83,8 @@ public class Deadlines extends Task {
     @Override
     public String getInitDesc() {
         String str = super.isDone ? "1" : "0";
-        return String.format("D | %s | %s", str, this.initDesc);
+        String desc = this.initDesc != null ? this.initDesc : super.description + " /by " + this.deadline;
+        return String.format("D | %s | %s", str, desc);
     }
 
     public LocalDateTime getDeadline() {
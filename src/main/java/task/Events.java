@@ -1,8 +1,6 @@
 package task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import exception.CommandFoundButInvalidException;
 import exception.EmptyDescriptionException;
@@ -29,12 +27,9 @@ public class Events extends Task {
         this.initDesc = description;
         String[] inputs = this.getValidString(description);
         super.description = inputs[0];
-        String start = inputs[1];
-        String end = inputs[2];
-        try {
-            this.startDate = LocalDateTime.parse(start);
-            this.endDate = LocalDateTime.parse(end);
-        } catch (DateTimeParseException e) {
+        this.startDate = TaskArguments.parseDateTime(inputs[1]);
+        this.endDate = TaskArguments.parseDateTime(inputs[2]);
+        if (this.startDate == null || this.endDate == null) {
             throw new InvalidSyntaxException("event, please use yyyy-mm-ddThh:mm. E.g. 2024-09-11T23:59");
         }
         if (this.startDate.isAfter(this.endDate)) {
@@ -42,16 +37,31 @@ public class Events extends Task {
         }
     }
 
+    /**
+     * Constructs a {@code Events} object from a description, start and end that were already
+     * validated, e.g. when read back from storage, without parsing them again
+     *
+     * @param description the description of the event, without the start and end times
+     * @param startDate the start of the event
+     * @param endDate the end of the event
+     */
+    public Events(String description, LocalDateTime startDate, LocalDateTime endDate) {
+        super(description);
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
     /**
      * Returns a string representation of the event in a user redable format
      *
      * @return a string representation of the evnt
      */
-    public String toString() {
-        String startString = startDate.format(DateTimeFormatter.ofPattern("dd MMM yyy HH:mm"));
-        String endString = endDate.format(DateTimeFormatter.ofPattern("dd MMM yyy HH:mm"));
+    @Override
+    protected String render() {
+        String startString = startDate.format(DISPLAY_FORMATTER);
+        String endString = endDate.format(DISPLAY_FORMATTER);
         String str = " (from: " + startString + " to: " + endString + ")";
-        return "[E]" + super.toString() + str;
+        return "[E]" + super.render() + str;
     }
 
     /**
@@ -68,18 +78,11 @@ public class Events extends Task {
         if (description.isEmpty()) {
             throw new EmptyDescriptionException("event");
         }
-        String[] firstSplit = description.split("/from", 2);
-        if (firstSplit.length == 2 && !firstSplit[0].isEmpty() && !firstSplit[1].isEmpty()) {
-            String[] secondSplit = firstSplit[1].split("/to");
-            if (secondSplit.length == 2 && !secondSplit[0].isEmpty() && !secondSplit[1].isEmpty()) {
-                String desc = firstSplit[0].trim();
-                String start = secondSplit[0].trim();
-                String end = secondSplit[1].trim();
-                return new String[]{desc, start, end};
-            }
+        String[] inputs = TaskArguments.splitEvent(description);
+        if (inputs == null) {
             throw new InvalidSyntaxException("event");
         }
-        throw new InvalidSyntaxException("event");
+        return inputs;
     }
 
     /**
@@ -91,10 +94,17 @@ public class Events extends Task {
     @Override
     public String getInitDesc() {
         String str = super.isDone ? "1" : "0";
-        return String.format("E | %s | %s", str, this.initDesc);
+        String desc = this.initDesc != null
+                ? this.initDesc
+                : super.description + " /from " + this.startDate + " /to " + this.endDate;
+        return String.format("E | %s | %s", str, desc);
     }
 
     public LocalDateTime getStart() {
         return this.startDate;
     }
+
+    public LocalDateTime getEnd() {
+        return this.endDate;
+    }
 }
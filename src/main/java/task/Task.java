@@ -1,13 +1,24 @@
 package task;
 
+import java.time.format.DateTimeFormatter;
+
 import exception.CommandFoundButInvalidException;
 
 /**
  * Represents a task with a description and a completion status.
+ * The string representation is built once and cached until the completion status changes.
+ * The completion status and the cached representation are volatile, so a task marked on one thread
+ * is shown correctly by every other thread reading it.
+ * Each task in a {@code TaskList} has a unique id, which stays the same when other tasks are
+ * deleted and is saved together with the task.
  */
 public class Task {
+    protected static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyy HH:mm");
+
     protected String description;
-    protected boolean isDone;
+    protected volatile boolean isDone;
+    private long id;
+    private volatile String rendered;
 
     /**
      * Constructs a {@code Task} object with the specified description.
@@ -21,12 +32,33 @@ public class Task {
     }
 
     /**
-     * Returns a string representation of the task, including its completion status and description.
-     * The completion status is indicated by "[X]" for done and "[ ]" for not done.
+     * Returns a string representation of the task, building it only if it is not cached yet.
+     * If the completion status changed while it was being built, the cached representation is
+     * dropped again, as it may have been cached after the change cleared it.
      *
      * @return a string representation of the task
      */
+    @Override
     public String toString() {
+        String str = this.rendered;
+        if (str == null) {
+            boolean wasDone = this.isDone;
+            str = this.render();
+            this.rendered = str;
+            if (this.isDone != wasDone) {
+                this.rendered = null;
+            }
+        }
+        return str;
+    }
+
+    /**
+     * Builds the string representation of the task, including its completion status and description.
+     * The completion status is indicated by "[X]" for done and "[ ]" for not done.
+     *
+     * @return a string representation of the task
+     */
+    protected String render() {
         return isDone ? "[X] " + description : "[ ] " + description;
     }
 
@@ -35,6 +67,7 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
@@ -42,6 +75,28 @@ public class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        this.rendered = null;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Returns the id of the task.
+     *
+     * @return the id of the task, or 0 if the task has not been given one yet
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
     }
 
     /**
@@ -0,0 +1,176 @@
+package task;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Splits the arguments of deadlines and events at their {@code /by}, {@code /from} and {@code /to} flags
+ * and parses their dates, scanning the text directly instead of splitting it with regular expressions.
+ * Dates in the usual {@code yyyy-mm-ddThh:mm[:ss]} form are parsed by hand and invalid dates are reported
+ * by returning null, so neither a formatter nor an exception is needed for them.
+ */
+public class TaskArguments {
+    private static final String BY = "/by";
+    private static final String FROM = "/from";
+    private static final String TO = "/to";
+
+    private TaskArguments() {
+    }
+
+    /**
+     * Splits the arguments of a deadline into its description and its deadline.
+     * The arguments must contain exactly one {@code /by}, with text on both sides of it.
+     *
+     * @param arguments the arguments of the deadline
+     * @return the trimmed description and deadline, or null if the arguments are not of that form
+     */
+    public static String[] splitDeadline(String arguments) {
+        int by = arguments.indexOf(BY);
+        if (by <= 0) {
+            return null;
+        }
+        int deadlineStart = by + BY.length();
+        int deadlineEnd = endOfLastPart(arguments, deadlineStart, BY);
+        if (deadlineEnd == -1 || deadlineEnd == deadlineStart) {
+            return null;
+        }
+        return new String[]{arguments.substring(0, by).trim(), arguments.substring(deadlineStart, deadlineEnd).trim()};
+    }
+
+    /**
+     * Splits the arguments of an event into its description, its start and its end.
+     * The arguments must contain {@code /from} followed by exactly one {@code /to}, with text around both.
+     *
+     * @param arguments the arguments of the event
+     * @return the trimmed description, start and end, or null if the arguments are not of that form
+     */
+    public static String[] splitEvent(String arguments) {
+        int from = arguments.indexOf(FROM);
+        if (from <= 0) {
+            return null;
+        }
+        String[] period = splitStartAndEnd(arguments, from + FROM.length());
+        if (period == null) {
+            return null;
+        }
+        return new String[]{arguments.substring(0, from).trim(), period[0], period[1]};
+    }
+
+    /**
+     * Splits the arguments of a period, such as those of the between command, into its start and its end.
+     * The arguments must start with {@code /from} followed by exactly one {@code /to}, with text after both.
+     *
+     * @param arguments the arguments of the period
+     * @return the trimmed start and end, or null if the arguments are not of that form
+     */
+    public static String[] splitPeriod(String arguments) {
+        int from = arguments.indexOf(FROM);
+        if (from == -1 || !arguments.substring(0, from).isBlank()) {
+            return null;
+        }
+        return splitStartAndEnd(arguments, from + FROM.length());
+    }
+
+    /**
+     * Splits the text after a {@code /from} flag at its single {@code /to} flag.
+     *
+     * @return the trimmed start and end, or null if either is empty or there is more than one {@code /to}
+     */
+    private static String[] splitStartAndEnd(String text, int startStart) {
+        int to = text.indexOf(TO, startStart);
+        if (to <= startStart) {
+            return null;
+        }
+        int endStart = to + TO.length();
+        int endEnd = endOfLastPart(text, endStart, TO);
+        if (endEnd == -1 || endEnd == endStart) {
+            return null;
+        }
+        return new String[]{text.substring(startStart, to).trim(), text.substring(endStart, endEnd).trim()};
+    }
+
+    /**
+     * Returns where the part starting at the given index ends if it is the last part when the text is split
+     * at the flag. Like {@code String.split}, flags that only leave empty parts behind them are ignored.
+     *
+     * @return the end of the part, or -1 if there is another non-empty part after it
+     */
+    private static int endOfLastPart(String text, int start, String flag) {
+        int next = text.indexOf(flag, start);
+        if (next == -1) {
+            return text.length();
+        }
+        for (int i = next; i < text.length(); i += flag.length()) {
+            if (!text.startsWith(flag, i)) {
+                return -1;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Parses an ISO-8601 local date-time such as {@code 2024-09-11T23:59}, accepting exactly what
+     * {@code LocalDateTime.parse} accepts. The common forms without fractions of a second are parsed
+     * directly, anything else is handed to {@code LocalDateTime.parse}.
+     *
+     * @param text the date-time to parse
+     * @return the date-time, or null if the text is not a valid date-time
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        int length = text.length();
+        if ((length == 16 || length == 19) && isDateTimeShape(text)) {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            int hour = digits(text, 11, 13);
+            int minute = digits(text, 14, 16);
+            int second = length == 19 ? digits(text, 17, 19) : 0;
+            if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                    || hour > 23 || minute > 59 || second > 59) {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        }
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDateTimeShape(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean isValid;
+            switch (i) {
+            case 4:
+            case 7:
+                isValid = c == '-';
+                break;
+            case 10:
+                isValid = c == 'T';
+                break;
+            case 13:
+            case 16:
+                isValid = c == ':';
+                break;
+            default:
+                isValid = c >= '0' && c <= '9';
+            }
+            if (!isValid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+}
@@ -22,9 +22,8 @@ public class TaskComparator implements Comparator<Task> {
     @Override
     public int compare(Task t1, Task t2) {
         if (t1 instanceof ToDos && t2 instanceof ToDos) {
-            return t1.toString()
-                    .substring(7)
-                    .compareTo(t2.toString().substring(7));
+            return t1.getDescription()
+                    .compareTo(t2.getDescription());
         }
 
         if (t1 instanceof Deadlines && t2 instanceof Deadlines) {
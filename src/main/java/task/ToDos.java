@@ -23,8 +23,9 @@ public class ToDos extends Task {
      * Returns a string representation of the to-do task
      * @return a string representation of the to-do task
      */
-    public String toString() {
-        return "[T]" + super.toString();
+    @Override
+    protected String render() {
+        return "[T]" + super.render();
     }
 
     /**
@@ -0,0 +1,82 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HyperionServerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSessions() throws IOException, InterruptedException {
+        HyperionServer server = new HyperionServer(0, tempDir, 2);
+        Thread serving = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        serving.start();
+        try (Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            BufferedReader firstIn = reader(first);
+            BufferedReader secondIn = reader(second);
+            Writer firstOut = writer(first);
+            Writer secondOut = writer(second);
+            readResponse(firstIn);
+            readResponse(secondIn);
+            assertTrue(send(firstOut, firstIn, "alice").startsWith("Welcome to Hyperion!"));
+            send(secondOut, secondIn, "alice");
+
+            send(firstOut, firstIn, "todo read book");
+            assertEquals("Here are the tasks in your list:\n1. [T][ ] read book\n", send(secondOut, secondIn, "list"));
+            assertEquals("There is nothing more to show\n", send(firstOut, firstIn, "more"));
+            assertEquals("Bye. Hope to see you again soon!\n", send(firstOut, firstIn, "bye"));
+            assertNull(firstIn.readLine());
+        } finally {
+            server.close();
+            serving.join();
+        }
+        assertTrue(Files.readString(tempDir.resolve("alice").resolve("tasks.txt")).contains("read book"));
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static Writer writer(Socket socket) throws IOException {
+        return new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    private static String send(Writer out, BufferedReader in, String line) throws IOException {
+        out.write(line + "\n");
+        out.flush();
+        return readResponse(in);
+    }
+
+    private static String readResponse(BufferedReader in) throws IOException {
+        StringBuilder response = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            response.append(line).append('\n');
+        }
+        return response.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import exception.CommandFoundButInvalidException;
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+public class IntervalIndexTest {
+    private static LocalDateTime at(int hour, int minute) {
+        return LocalDateTime.of(2024, 12, 12, hour, minute);
+    }
+
+    @Test
+    public void testOverlappingIncludesEndpoints() throws CommandFoundButInvalidException {
+        Task morning = new Events("meeting /from 2024-12-12T10:00 /to 2024-12-12T12:00");
+        Task afternoon = new Events("lecture /from 2024-12-12T12:00 /to 2024-12-12T14:00");
+        Task evening = new Events("dinner /from 2024-12-12T18:00 /to 2024-12-12T20:00");
+        IntervalIndex index = new IntervalIndex(List.of(evening, new ToDos("read book"), afternoon,
+                new Deadlines("return book /by 2024-12-12T12:00"), morning));
+
+        assertEquals(List.of(morning, afternoon), index.overlapping(at(12, 0), at(12, 0)));
+        assertEquals(List.of(evening), index.overlapping(at(20, 0), at(23, 0)));
+        assertEquals(List.of(), index.overlapping(at(14, 1), at(17, 59)));
+        assertEquals(List.of(morning, afternoon, evening), index.overlapping(at(0, 0), at(23, 59)));
+    }
+
+    @Test
+    public void testRemovedEventsAreNotReturned() throws CommandFoundButInvalidException {
+        Task morning = new Events("meeting /from 2024-12-12T10:00 /to 2024-12-12T12:00");
+        Task allDay = new Events("trip /from 2024-12-12T00:00 /to 2024-12-12T23:59");
+        IntervalIndex index = new IntervalIndex(List.of(morning, allDay));
+        index.remove(allDay);
+        assertEquals(List.of(morning), index.overlapping(at(11, 0), at(11, 0)));
+        assertEquals(List.of(), index.overlapping(at(13, 0), at(14, 0)));
+    }
+
+    @Test
+    public void testTasksBetweenMergesDeadlinesAndEvents() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addEvent("dinner /from 2024-12-12T18:00 /to 2024-12-12T20:00");
+        taskList.addDeadline("return book /by 2024-12-12T12:00");
+        taskList.addEvent("meeting /from 2024-12-12T10:00 /to 2024-12-12T12:00");
+        taskList.addDeadline("pay fine /by 2024-12-13T12:00");
+        taskList.addTodo("read book");
+
+        List<String> expected = List.of("[E][ ] meeting (from: 12 Dec 2024 10:00 to: 12 Dec 2024 12:00)",
+                "[D][ ] return book (by: 12 Dec 2024 12:00)",
+                "[E][ ] dinner (from: 12 Dec 2024 18:00 to: 12 Dec 2024 20:00)");
+        assertEquals(expected, taskList.getTasksBetween(at(11, 0), at(23, 0)).stream()
+                .map(Task::toString).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,120 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.CommandFoundButInvalidException;
+import task.Task;
+import task.ToDos;
+
+public class MappedTaskListTest {
+    @TempDir
+    Path tempDir;
+
+    private MappedTaskList map(String content) throws IOException, CommandFoundButInvalidException {
+        Path path = this.tempDir.resolve("tasks.txt");
+        Files.writeString(path, content);
+        return MappedTaskList.map(path);
+    }
+
+    private static Task todo(long id, String description) throws CommandFoundButInvalidException {
+        Task task = new ToDos(description);
+        task.setId(id);
+        return task;
+    }
+
+    private static List<String> lines(MappedTaskList tasks) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            lines.add(tasks.getLine(i));
+        }
+        return lines;
+    }
+
+    @Test
+    public void testLinesAreOnlyParsedWhenAccessed() throws IOException, CommandFoundButInvalidException {
+        MappedTaskList tasks = this.map("# generation 4 next-id 9\r\n"
+                + "1 | T | 0 | read book\r\n"
+                + "3 | D | 1 | return book /by 2024-12-12T10:00\n"
+                + "4 | X | 0 | corrupted");
+        assertEquals(4, tasks.getHeader().getGeneration());
+        assertEquals(9, tasks.getHeader().getNextId());
+        assertEquals(List.of("1 | T | 0 | read book", "3 | D | 1 | return book /by 2024-12-12T10:00",
+                "4 | X | 0 | corrupted"), lines(tasks));
+        assertEquals(3, tasks.getId(1));
+        assertEquals("[D][X] return book (by: 12 Dec 2024 10:00)", tasks.get(1).toString());
+        assertEquals(3, tasks.get(1).getId());
+        assertThrows(IllegalStateException.class, () -> tasks.get(2));
+    }
+
+    @Test
+    public void testLinesWithoutIdsAreNumberedInOrder() throws IOException, CommandFoundButInvalidException {
+        MappedTaskList tasks = this.map("T | 0 | read book\nT | 1 | return book\n");
+        assertEquals(List.of("1 | T | 0 | read book", "2 | T | 1 | return book"), lines(tasks));
+        assertEquals(2, tasks.get(1).getId());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException, CommandFoundButInvalidException {
+        MappedTaskList tasks = this.map("");
+        assertEquals(0, tasks.getHeader().getGeneration());
+        assertEquals(0, tasks.size());
+        tasks.add(todo(1, "read book"));
+        assertEquals(List.of("1 | T | 0 | read book"), lines(tasks));
+    }
+
+    @Test
+    public void testCopyIsNotChangedByTheList() throws IOException, CommandFoundButInvalidException {
+        MappedTaskList tasks = this.map("1 | T | 0 | read book\n2 | T | 0 | return book\n3 | T | 1 | borrow book\n");
+        MappedTaskList copy = tasks.copy();
+        tasks.remove(0);
+        tasks.set(0, todo(2, "buy book"));
+        tasks.add(todo(4, "sell book"));
+
+        assertEquals(List.of("2 | T | 0 | buy book", "3 | T | 1 | borrow book", "4 | T | 0 | sell book"),
+                lines(tasks));
+        assertEquals(List.of("1 | T | 0 | read book", "2 | T | 0 | return book", "3 | T | 1 | borrow book"),
+                lines(copy));
+        assertEquals("[T][X] borrow book", copy.get(2).toString());
+    }
+
+    @Test
+    public void testCopiesShareParsedTasks() throws IOException, CommandFoundButInvalidException {
+        MappedTaskList tasks = this.map("1 | T | 0 | read book\n2 | T | 0 | return book\n");
+        Task read = tasks.copy().get(0);
+        tasks.remove(1);
+        assertSame(read, tasks.get(0));
+        assertSame(read, tasks.copy().get(0));
+
+        read.markAsDone();
+        assertEquals("1 | T | 1 | read book", tasks.getLine(0));
+    }
+
+    @Test
+    public void testLazyLoadLeavesDataFileReplaceable() throws IOException, CommandFoundButInvalidException {
+        Path path = this.tempDir.resolve("tasks.txt");
+        Files.writeString(path, "1 | T | 0 | read book\n2 | T | 1 | return book\n");
+        Storage storage = new Storage(path.toString(), new StorageConfig().setLazy(true));
+        TaskList taskList = new TaskList(storage.load());
+        taskList.addTodo("join sports club");
+        taskList.delete("1");
+        storage.put(taskList);
+
+        assertEquals("2 | T | 1 | return book\n3 | T | 0 | join sports club\n", Files.readString(path));
+        try (Stream<Path> files = Files.list(this.tempDir)) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".mapped")));
+        }
+    }
+}
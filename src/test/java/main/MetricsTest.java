@@ -0,0 +1,52 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.CommandFoundButInvalidException;
+import exception.HyperionException;
+
+public class MetricsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 + 500_000 / 8);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+    }
+
+    @Test
+    public void testStats() throws HyperionException {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        Metrics metrics = new Metrics(true);
+        Parser parser = new Parser(taskList, storage, new Ui(), metrics);
+        parser.run("todo read book");
+        parser.run("list");
+        assertEquals(2, metrics.getCommandCount());
+        assertEquals(1L, metrics.getLatencies().get("todo.persist.count"));
+        String stats = parser.run("stats");
+        assertTrue(stats.contains("\nlist     execute         1"));
+        assertTrue(stats.contains("\nfsync (never): 0 syncs"));
+
+        Parser untimed = new Parser(taskList, storage, new Ui());
+        untimed.run("list");
+        assertThrows(CommandFoundButInvalidException.class, () -> untimed.run("stats"));
+    }
+}
@@ -0,0 +1,74 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import exception.CommandFoundButInvalidException;
+import task.Task;
+import task.ToDos;
+
+public class SearchIndexTest {
+    private static List<Task> todos(String... descriptions) throws CommandFoundButInvalidException {
+        List<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            Task task = new ToDos(description);
+            task.setId(tasks.size() + 1);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testFindInListOrder() throws CommandFoundButInvalidException {
+        List<Task> tasks = todos("return book", "read book", "bcdx abc", "club");
+        SearchIndex index = new SearchIndex(tasks);
+        assertEquals(List.of(tasks.get(0), tasks.get(1)), index.find("book"));
+        assertEquals(List.of(tasks.get(1)), index.find("ad b"));
+        assertEquals(tasks, index.find("[T][ ] "));
+        assertEquals(List.of(), index.find("xyz"));
+        // Every trigram of the query is in the third task, but not the query itself
+        assertEquals(List.of(), index.find("abcdx"));
+    }
+
+    @Test
+    public void testCandidatesContainEveryTrigram() throws CommandFoundButInvalidException {
+        List<Task> tasks = todos("abc", "bcd", "bcdx abc", "abcd");
+        SearchIndex index = new SearchIndex(tasks);
+        assertEquals(List.of(tasks.get(2), tasks.get(3)), index.candidates("abcd"));
+        assertEquals(List.of(tasks.get(3)), index.find("abcd"));
+    }
+
+    @Test
+    public void testUpdateAndRemove() throws CommandFoundButInvalidException {
+        List<Task> tasks = todos("return book", "read book");
+        SearchIndex index = new SearchIndex(tasks);
+        tasks.get(0).markAsDone();
+        index.update(tasks.get(0));
+        assertEquals(List.of(tasks.get(0)), index.find("[X] re"));
+        assertEquals(List.of(tasks.get(1)), index.find("[ ] re"));
+
+        index.remove(tasks.get(1));
+        assertEquals(List.of(tasks.get(0)), index.find("book"));
+    }
+
+    @Test
+    public void testTaskListFind() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTodo("read book");
+        taskList.addTodo("join club");
+        taskList.addTodo("return book");
+        assertEquals(2, taskList.find("book").count());
+        taskList.delete("1");
+        assertEquals(List.of("[T][ ] return book"), taskList.find("book").map(Task::toString)
+                .collect(Collectors.toList()));
+        // Queries shorter than a trigram are answered by scanning the list
+        assertEquals(List.of("[T][ ] join club"), taskList.find("ub").map(Task::toString)
+                .collect(Collectors.toList()));
+        assertEquals(2, taskList.find("").count());
+    }
+}
@@ -0,0 +1,50 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import exception.CommandFoundButInvalidException;
+import task.Deadlines;
+import task.Events;
+import task.Task;
+import task.ToDos;
+
+public class SortedIndexTest {
+    @Test
+    public void testSortedKeepsListOrderOfTies() throws CommandFoundButInvalidException {
+        Task event = new Events("meeting /from 2024-12-12T08:00 /to 2024-12-12T09:00");
+        Task deadline = new Deadlines("return book /by 2024-12-12T10:00");
+        Task borrow = new ToDos("borrow book");
+        Task read = new ToDos("read book");
+        Task readAgain = new ToDos("read book");
+        List<Task> tasks = List.of(event, read, deadline, readAgain, borrow);
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(i + 1);
+        }
+        SortedIndex index = new SortedIndex(tasks);
+        assertEquals(List.of(borrow, read, readAgain, deadline, event), index.sorted());
+
+        index.remove(read);
+        assertEquals(List.of(borrow, readAgain, deadline, event), index.sorted());
+        index.add(read);
+        assertEquals(List.of(borrow, read, readAgain, deadline, event), index.sorted());
+    }
+
+    @Test
+    public void testDeadlineRanges() throws CommandFoundButInvalidException {
+        Task early = new Deadlines("return book /by 2024-12-12T10:00");
+        Task noon = new Deadlines("pay fine /by 2024-12-12T12:00");
+        Task late = new Deadlines("buy book /by 2024-12-12T14:00");
+        SortedIndex index = new SortedIndex(new ArrayList<>(List.of(late, noon, early)));
+        LocalDateTime ten = LocalDateTime.of(2024, 12, 12, 10, 0);
+        LocalDateTime twelve = LocalDateTime.of(2024, 12, 12, 12, 0);
+
+        assertEquals(List.of(early, noon), index.deadlinesBetween(ten, twelve));
+        assertEquals(List.of(noon), index.deadlinesBetween(twelve, twelve));
+    }
+}
@@ -0,0 +1,144 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.CommandFoundButInvalidException;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testJournalReplay() throws CommandFoundButInvalidException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        taskList.addTodo("read book");
+        taskList.addTodo("join sports club");
+        taskList.mark("2");
+        taskList.delete("1");
+        storage.put(taskList);
+
+        TaskList reloaded = new TaskList(new Storage(filePath, true).load());
+        assertEquals(taskList.toMemoryString(), reloaded.toMemoryString());
+    }
+
+    @Test
+    public void testJournalRecordsWithoutIdsRejected() throws IOException {
+        Path filePath = tempDir.resolve("tasks.txt");
+        Files.writeString(tempDir.resolve("tasks.txt.1.log"), "A 1 | T | 0 | read book\nM 0\n");
+        assertThrows(CommandFoundButInvalidException.class, () -> new Storage(filePath.toString(), true).load());
+
+        Files.writeString(tempDir.resolve("tasks.txt.1.log"), "A T | 0 | read book\n");
+        assertThrows(CommandFoundButInvalidException.class, () -> new Storage(filePath.toString(), true).load());
+    }
+
+    @Test
+    public void testBinaryFormatRoundTrip()throws CommandFoundButInvalidException {
+        String filePath = tempDir.resolve("tasks.bin").toString();
+        StorageConfig config = new StorageConfig().setFormat(new BinaryFormat());
+        Storage storage = new Storage(filePath, config);
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        taskList.addTodo("read book");
+        taskList.addDeadline("return book /by 2024-12-12T10:00");
+        taskList.addEvent("project meeting /from 2024-12-12T10:00 /to 2024-12-12T12:00");
+        taskList.mark("2");
+        storage.put(taskList);
+
+        TaskList reloaded = new TaskList(new Storage(filePath, config).load());
+        assertEquals(taskList.list(""), reloaded.list(""));
+        assertEquals(taskList.toMemoryString(), reloaded.toMemoryString());
+    }
+
+    @Test
+    public void testIdsSurviveReload() throws CommandFoundButInvalidException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, true);
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        taskList.addTodo("read book");
+        taskList.addTodo("join sports club");
+        taskList.addTodo("borrow book");
+        taskList.delete("#1");
+        storage.put(taskList);
+
+        TaskList reloaded = new TaskList(new ArrayList<>(new Storage(filePath, true).load()));
+        reloaded.mark("#3");
+        assertEquals("[T][X] borrow book", reloaded.getLastMarked().toString());
+        reloaded.addTodo("return book");
+        assertEquals(4, reloaded.getLastAdded().getId());
+    }
+
+    @Test
+    public void testIntervalSyncOnFlush() throws CommandFoundButInvalidException {
+        StorageConfig config = new StorageConfig().setJournaled(true)
+                .setDurabilityPolicy(DurabilityPolicy.every(60_000));
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString(), config);
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        taskList.addTodo("read book");
+        storage.put(taskList);
+        taskList.addTodo("join sports club");
+        storage.put(taskList);
+        assertEquals(1, storage.getDurabilityPolicy().getSyncCount());
+
+        // A store sharing the settings still syncs its first write and counts its syncs on its own
+        Storage other = new Storage(tempDir.resolve("other.txt").toString(), config);
+        TaskList otherList = new TaskList(new ArrayList<>(other.load()));
+        otherList.addTodo("buy book");
+        other.put(otherList);
+        assertEquals(1, other.getDurabilityPolicy().getSyncCount());
+        assertEquals(0, config.getDurabilityPolicy().getSyncCount());
+
+        storage.flush(taskList);
+        assertEquals(2, storage.getDurabilityPolicy().getSyncCount());
+        assertThrows(IllegalArgumentException.class, () -> DurabilityPolicy.fromString("sometimes"));
+    }
+
+    @Test
+    public void testBackgroundSaveFailureReported() throws CommandFoundButInvalidException, IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath, new StorageConfig().setWriteDelayMillis(10));
+        TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+        Path blocked = Files.createDirectory(tempDir.resolve("tasks.txt.tmp"));
+        taskList.addTodo("read book");
+        storage.put(taskList);
+        assertThrows(CommandFoundButInvalidException.class, () -> storage.flush(taskList));
+
+        Files.delete(blocked);
+        storage.flush(taskList);
+        storage.close();
+        assertEquals(taskList.toMemoryString(), new TaskList(new Storage(filePath).load()).toMemoryString());
+    }
+
+    @Test
+    public void testDeletedIdsNotReusedAfterReload() throws CommandFoundButInvalidException {
+        List<StorageConfig> configs = List.of(new StorageConfig(), new StorageConfig().setFormat(new BinaryFormat()),
+                new StorageConfig().setJournaled(true), new StorageConfig().setLazy(true));
+        for (int i = 0; i < configs.size(); i++) {
+            String filePath = tempDir.resolve("tasks" + i + ".txt").toString();
+            Storage storage = new Storage(filePath, configs.get(i));
+            TaskList taskList = new TaskList(new ArrayList<>(storage.load()));
+            taskList.addTodo("read book");
+            taskList.addTodo("join sports club");
+            taskList.addTodo("borrow book");
+            taskList.delete("#3");
+            taskList.delete("#2");
+            storage.flush(taskList);
+            storage.close();
+
+            Storage reopened = new Storage(filePath, configs.get(i));
+            TaskList reloaded = new TaskList(reopened.load(), TaskList.DEFAULT_HISTORY_LIMIT, reopened.getNextId());
+            reloaded.addTodo("return book");
+            assertEquals(4, reloaded.getLastAdded().getId());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import exception.CommandFoundButInvalidException;
+import command.Command;
+import command.FindCommand;
+import exception.InvalidSyntaxException;
+import task.Task;
+
+public class TaskListTest {
+    @Test
+    public void testBulkMarkAndDelete() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTodo("task " + i);
+        }
+        assertEquals(5, taskList.markAll("2-4,#8,10").size());
+        assertEquals(2, taskList.deleteAll("1,3").size());
+        assertEquals(4, taskList.deleteAll("done").size());
+        String expected = "Here are the tasks in your list:\n"
+                + "1. [T][ ] task 5\n"
+                + "2. [T][ ] task 6\n"
+                + "3. [T][ ] task 7\n"
+                + "4. [T][ ] task 9";
+        assertEquals(expected, taskList.list(""));
+    }
+
+    @Test
+    public void testDoneOnlySelectsForDelete() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTodo("read book");
+        taskList.addTodo("borrow book");
+        taskList.markAll("1,2");
+        assertThrows(InvalidSyntaxException.class, () -> taskList.markAll("done"));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.unmarkAll("DONE"));
+        assertEquals(2, taskList.undo().size());
+        assertEquals(0, taskList.deleteAll("done").size());
+    }
+
+    @Test
+    public void testInvalidRange()throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTodo("read book");
+        taskList.addTodo("borrow book");
+        assertThrows(InvalidSyntaxException.class, () -> taskList.markAll("2-1"));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.deleteAll("1-3"));
+        assertEquals(2, taskList.getSize());
+    }
+
+    @Test
+    public void testUndoRedo() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        taskList.addTodo("read book");
+        taskList.addTodo("borrow book");
+        taskList.addTodo("return book");
+        String original = taskList.list("");
+        taskList.delete("2");
+        taskList.markAll("1-2");
+        assertEquals(2, taskList.undo().size());
+        assertEquals(1, taskList.undo().size());
+        assertEquals(original, taskList.list(""));
+        taskList.redo();
+        assertEquals(2, taskList.getSize());
+        taskList.addTodo("buy book");
+        assertThrows(CommandFoundButInvalidException.class, taskList::redo);
+    }
+
+    @Test
+    public void testHistoryLimit() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>(), 2);
+        taskList.addTodo("read book");
+        taskList.addTodo("borrow book");
+        taskList.addTodo("return book");
+        taskList.undo();
+        taskList.undo();
+        assertThrows(CommandFoundButInvalidException.class, taskList::undo);
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] read book", taskList.list(""));
+    }
+
+    @Test
+    public void testListPages() throws CommandFoundButInvalidException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodo("task " + i);
+        }
+        ResultPager pager = new ResultPager(2);
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] task 1\n2. [T][ ] task 2\n"
+                + "Showing tasks 1-2 of 5, enter more to see the next 2",
+                pager.showList(taskList, PageRequest.parseList("")));
+        pager.more();
+        assertEquals("Here are the tasks in your list:\n5. [T][ ] task 5", pager.more());
+        assertThrows(CommandFoundButInvalidException.class, pager::more);
+        assertThrows(CommandFoundButInvalidException.class, () -> pager.showList(taskList, new PageRequest("", 4, 0)));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.list("0"));
+        assertEquals("Here are the tasks in your list:\n4. [T][ ] task 4\n5. [T][ ] task 5",
+                taskList.list("2 /size 3"));
+        assertEquals(taskList.list("2 /size 3"), taskList.list("/size 3 /page 2"));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.list("2 /page 2"));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.list("/size 0"));
+        assertThrows(InvalidSyntaxException.class, () -> taskList.list("/size 2 /size 3"));
+    }
+
+    @Test
+    public void testPageRequest() throws InvalidSyntaxException {
+        PageRequest request = PageRequest.parse("read book /page 3 /size 20", "find");
+        assertEquals("read book", request.getArguments());
+        assertEquals(3, request.getPage());
+        assertEquals(20, request.getPageSize());
+        PageRequest plain = PageRequest.parse("read /pages", "find");
+        assertEquals("read /pages", plain.getArguments());
+        assertEquals(1, plain.getPage());
+        assertEquals(0, plain.getPageSize());
+        assertThrows(InvalidSyntaxException.class, () -> PageRequest.parse("read /page", "find"));
+    }
+
+    @Test
+    public void testMatchesArePagedLazily() throws CommandFoundButInvalidException, IOException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodo("task " + i);
+        }
+        List<Task> checked = new ArrayList<>();
+        ResultPager pager = new ResultPager(2);
+        StringBuilder out = new StringBuilder();
+        pager.showMatches("Found:", taskList.find("task").peek(checked::add), PageRequest.parse("", "find"), out);
+        assertEquals("Found:\nHere are the tasks in your list:\n1. [T][ ] task 1\n2. [T][ ] task 2\n"
+                + "Showing tasks 1-2, enter more to see the next ones", out.toString());
+        assertEquals(3, checked.size());
+        pager.more();
+        assertEquals("Here are the tasks in your list:\n5. [T][ ] task 5", pager.more());
+        assertEquals(5, checked.size());
+        assertThrows(CommandFoundButInvalidException.class, pager::more);
+
+        StringBuilder invalid = new StringBuilder();
+        assertThrows(CommandFoundButInvalidException.class, () -> pager.showMatches("Found:", taskList.find("task"),
+                PageRequest.parse("/page 4", "find"), invalid));
+        assertEquals("", invalid.toString());
+        Command find = new FindCommand("task /page 2 /size 3", pager);
+        assertEquals("Ok, these are your search results\nHere are the tasks in your list:\n"
+                + "4. [T][ ] task 4\n5. [T][ ] task 5", Command.collect(find, taskList, new Ui(), null));
+    }
+
+    @Test
+    public void testStreamedPages() throws CommandFoundButInvalidException, IOException {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodo("task " + i);
+        }
+        StringBuilder out = new StringBuilder();
+        new ResultPager(2).showList(taskList, new PageRequest("", 2, 0), out);
+        assertEquals(new ResultPager(2).showList(taskList, new PageRequest("", 2, 0)), out.toString());
+        StringBuilder invalid = new StringBuilder();
+        assertThrows(CommandFoundButInvalidException.class,
+                () -> new ResultPager(2).showList(taskList, new PageRequest("", 4, 0), invalid));
+        assertEquals("", invalid.toString());
+    }
+}
@@ -0,0 +1,79 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import exception.CommandFoundButInvalidException;
+import exception.InvalidSyntaxException;
+import task.Task;
+import task.ToDos;
+
+public class TextFormatTest {
+    private static List<String> read(TextFormat format, String data) throws IOException,
+            CommandFoundButInvalidException {
+        List<Task> tasks = new ArrayList<>();
+        format.read(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), tasks);
+        return tasks.stream().map(Task::toString).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testParallelReadKeepsLineOrder() throws IOException, CommandFoundButInvalidException {
+        StringBuilder data = new StringBuilder("# generation 2\n");
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            data.append("T | 0 | task ").append(i).append(i % 2 == 0 ? "\r\n" : "\n");
+            expected.add("[T][ ] task " + i);
+        }
+        List<Task> tasks = new ArrayList<>();
+        byte[] bytes = data.toString().getBytes(StandardCharsets.UTF_8);
+        assertEquals(2, new TextFormat(1).read(new ByteArrayInputStream(bytes), tasks).getGeneration());
+        assertEquals(expected, tasks.stream().map(Task::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testLastLineWithoutNewline() throws IOException, CommandFoundButInvalidException {
+        String data = "T | 0 | caf\u00e9\nT | 1 | \u4e66";
+        List<String> expected = List.of("[T][ ] caf\u00e9", "[T][X] \u4e66");
+        assertEquals(expected, read(new TextFormat(1), data));
+        assertEquals(expected, read(new TextFormat(), data));
+    }
+
+    @Test
+    public void testNextIdAfterDeletedTasksIsKept() throws IOException, CommandFoundButInvalidException {
+        Task task = new ToDos("read book");
+        task.setId(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextFormat().write(out, List.of(task), new SnapshotHeader(0, 5));
+        assertEquals("# generation 0 next-id 5\n2 | T | 0 | read book\n", out.toString(StandardCharsets.UTF_8));
+
+        List<Task> tasks = new ArrayList<>();
+        SnapshotHeader header = new TextFormat().read(new ByteArrayInputStream(out.toByteArray()), tasks);
+        assertEquals(5, header.getNextId());
+        assertEquals(2, tasks.get(0).getId());
+    }
+
+    @Test
+    public void testHeaderOnly() throws IOException, CommandFoundButInvalidException {
+        assertEquals(List.of(), read(new TextFormat(1), "# generation 5\n"));
+    }
+
+    @Test
+    public void testCorruptedLineInParallelChunk() {
+        StringBuilder data = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            data.append("T | 0 | task ").append(i).append('\n');
+        }
+        data.append("X | 0 | corrupted\n");
+        assertThrows(InvalidSyntaxException.class, () -> read(new TextFormat(1), data.toString()));
+    }
+}
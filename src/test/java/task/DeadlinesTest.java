@@ -30,4 +30,23 @@ public class DeadlinesTest {
             assertEquals(exceptionMessage, realMessage);
         }
     }
+
+    @Test
+    public void testSlashSeparatedDate() throws CommandFoundButInvalidException {
+        Deadlines d = new Deadlines("meeting /by 2024/02/29T10:00");
+        assertEquals("[D][ ] meeting (by: 29 Feb 2024 10:00)", d.toString());
+    }
+
+    @Test
+    public void testInvalidDateErrorMessage() {
+        String expected = "Uh Oh, wrong syntax for the command - "
+                + "deadline, please use yyyy-mm-ddThh:mm. E.g. 2024-09-11T23:59";
+        String errorMsg = "";
+        try {
+            new Deadlines("meeting /by 2023-02-29T10:00");
+        } catch (CommandFoundButInvalidException e) {
+            errorMsg = e.getMessage();
+        }
+        assertEquals(expected, errorMsg);
+    }
 }
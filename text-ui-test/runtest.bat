@@ -6,8 +6,12 @@ if not exist ..\bin mkdir ..\bin
 REM delete output from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM delete tasks saved by the previous run
+if exist ..\bin\data del /q ..\bin\data\tasks.txt*
+
+REM compile the code without the GUI into the bin folder
+dir /s /b ..\src\main\java\main\*.java ..\src\main\java\command\*.java ..\src\main\java\exception\*.java ..\src\main\java\task\*.java > sources.txt
+javac  -cp ..\src\main\java -Xlint:none -d ..\bin @sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
@@ -15,7 +19,7 @@ IF ERRORLEVEL 1 (
 REM no error here, errorlevel == 0
 
 REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Hyperion < input.txt > ACTUAL.TXT
+java -classpath ..\bin main.Hyperion --data ..\bin\data\tasks.txt < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
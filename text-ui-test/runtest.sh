@@ -12,15 +12,18 @@ then
     rm ACTUAL.TXT
 fi
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# delete tasks saved by the previous run
+rm -f ../bin/data/tasks.txt*
+
+# compile the code without the GUI into the bin folder, terminates if error occurred
+if ! javac -cp ../src/main/java -Xlint:none -d ../bin $(find ../src/main/java -name '*.java' -not -path '*/gui/*')
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Hyperion < input.txt > ACTUAL.TXT
+java -classpath ../bin main.Hyperion --data ../bin/data/tasks.txt < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT